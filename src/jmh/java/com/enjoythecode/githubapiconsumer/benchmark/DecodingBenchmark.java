@@ -0,0 +1,90 @@
+package com.enjoythecode.githubapiconsumer.benchmark;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.repository.GithubJsonDecoder;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import reactor.core.publisher.Flux;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of decoding one page of {@code /repos} and {@code /branches} into the DTOs, with an {@link ObjectMapper}
+ * configured the way Spring Boot configures the WebClient codecs and with the streaming {@link GithubJsonDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodingBenchmark {
+
+    private static final TypeReference<List<RepositoryDto>> REPOSITORIES = new TypeReference<>() { };
+
+    private static final TypeReference<List<BranchDto>> BRANCHES = new TypeReference<>() { };
+
+    @Param({"30", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+
+    private GithubJsonDecoder githubJsonDecoder;
+
+    private byte[] repositoriesPage;
+
+    private byte[] branchesPage;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        githubJsonDecoder = new GithubJsonDecoder();
+        repositoriesPage = GithubPayloads.repositories("bench-user", pageSize, 4).getBytes(StandardCharsets.UTF_8);
+        branchesPage = GithubPayloads.branches("bench-user", "repo-0", pageSize).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public List<RepositoryDto> decodeRepositories() throws IOException {
+        return objectMapper.readValue(repositoriesPage, REPOSITORIES);
+    }
+
+    @Benchmark
+    public List<BranchDto> decodeBranches() throws IOException {
+        return objectMapper.readValue(branchesPage, BRANCHES);
+    }
+
+    @Benchmark
+    public List<Object> streamDecodeRepositories() {
+        return streamDecode(repositoriesPage, RepositoryDto.class);
+    }
+
+    @Benchmark
+    public List<Object> streamDecodeBranches() {
+        return streamDecode(branchesPage, BranchDto.class);
+    }
+
+    private List<Object> streamDecode(byte[] page, Class<?> type) {
+        return githubJsonDecoder.decode(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(page)),
+                ResolvableType.forClass(type), MediaType.APPLICATION_JSON, null).collectList().block();
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.enjoythecode.githubapiconsumer.benchmark;
+
+import com.enjoythecode.githubapiconsumer.GithubApiConsumerApplication;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+
+/**
+ * Requests per second through the whole application, started on a random port with caching disabled, against a
+ * local WireMock stand-in for GitHub serving {@code repositories} repos with {@code branches} branches each.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Threads(8)
+@Fork(1)
+public class EndToEndBenchmark {
+
+    private static final String USERNAME = "bench-user";
+
+    @Param({"10", "100"})
+    private int repositories;
+
+    @Param({"1", "20"})
+    private int branches;
+
+    private WireMockServer github;
+
+    private ConfigurableApplicationContext application;
+
+    private WebClient client;
+
+    @Setup
+    public void setup() {
+        github = new WireMockServer(wireMockConfig().dynamicPort().containerThreads(64));
+        github.start();
+        github.stubFor(WireMock.get(WireMock.urlPathEqualTo("/users/" + USERNAME + "/repos"))
+                .willReturn(WireMock.okJson(GithubPayloads.repositories(USERNAME, repositories, 4))));
+        for (int i = 0; i < repositories; i++) {
+            String name = GithubPayloads.repositoryName(i);
+            github.stubFor(WireMock.get(WireMock.urlPathEqualTo("/repos/" + USERNAME + "/" + name + "/branches"))
+                    .willReturn(WireMock.okJson(GithubPayloads.branches(USERNAME, name, branches))));
+        }
+        application = new SpringApplicationBuilder(GithubApiConsumerApplication.class)
+                .run("--server.port=0",
+                        "--github.api.base-url=" + github.baseUrl(),
+                        "--github.cache.enabled=false",
+                        "--github.body-cache.enabled=false",
+                        "--github.admission.enabled=false",
+                        "--github.rate-limit.enabled=false");
+        String port = application.getEnvironment().getProperty("local.server.port");
+        client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .codecs(codecs -> codecs.defaultCodecs().maxInMemorySize(-1))
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        application.close();
+        github.stop();
+    }
+
+    @Benchmark
+    public String getUserNonForkRepositories() {
+        return client.get().uri("/api/github/users/{username}/repos", USERNAME)
+                .accept(MediaType.APPLICATION_JSON)
+                .retrieve()
+                .bodyToMono(String.class)
+                .block();
+    }
+
+}
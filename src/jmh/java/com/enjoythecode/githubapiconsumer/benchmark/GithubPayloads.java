@@ -0,0 +1,101 @@
+package com.enjoythecode.githubapiconsumer.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Synthetic {@code /users/{username}/repos} and {@code /repos/{owner}/{repo}/branches} bodies shaped like GitHub's,
+ * including the fields this application ignores, so decoding cost is close to the real one.
+ */
+final class GithubPayloads {
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private GithubPayloads() {
+    }
+
+    static String repositories(String owner, int count, int forkEvery) {
+        List<Map<String, Object>> repositories = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String name = repositoryName(i);
+            Map<String, Object> repository = new LinkedHashMap<>();
+            repository.put("id", 100_000_000L + i);
+            repository.put("node_id", "R_kgDOH" + Integer.toHexString(i));
+            repository.put("name", name);
+            repository.put("full_name", owner + "/" + name);
+            repository.put("private", false);
+            repository.put("owner", owner(owner));
+            repository.put("html_url", "https://github.com/" + owner + "/" + name);
+            repository.put("description", "Synthetic repository number " + i + " used for benchmarking the decoder");
+            repository.put("fork", forkEvery > 0 && i % forkEvery == 0);
+            repository.put("url", "https://api.github.com/repos/" + owner + "/" + name);
+            repository.put("branches_url", "https://api.github.com/repos/" + owner + "/" + name + "/branches{/branch}");
+            repository.put("created_at", "2021-03-14T09:26:53Z");
+            repository.put("updated_at", "2024-07-01T12:00:00Z");
+            repository.put("pushed_at", "2024-07-01T11:59:00Z");
+            repository.put("homepage", null);
+            repository.put("size", 1024 + i);
+            repository.put("stargazers_count", i % 50);
+            repository.put("watchers_count", i % 50);
+            repository.put("language", "Java");
+            repository.put("forks_count", i % 7);
+            repository.put("open_issues_count", i % 3);
+            repository.put("license", Map.of("key", "mit", "name", "MIT License", "spdx_id", "MIT"));
+            repository.put("topics", List.of("spring-boot", "webflux", "github-api"));
+            repository.put("visibility", "public");
+            repository.put("default_branch", "main");
+            repositories.add(repository);
+        }
+        return write(repositories);
+    }
+
+    static String branches(String owner, String repositoryName, int count) {
+        List<Map<String, Object>> branches = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String sha = sha(repositoryName, i);
+            Map<String, Object> commit = new LinkedHashMap<>();
+            commit.put("sha", sha);
+            commit.put("url", "https://api.github.com/repos/" + owner + "/" + repositoryName + "/commits/" + sha);
+            Map<String, Object> branch = new LinkedHashMap<>();
+            branch.put("name", i == 0 ? "main" : "feature/branch-" + i);
+            branch.put("commit", commit);
+            branch.put("protected", i == 0);
+            branches.add(branch);
+        }
+        return write(branches);
+    }
+
+    static String repositoryName(int index) {
+        return "repo-" + index;
+    }
+
+    static String sha(String repositoryName, int index) {
+        return String.format("%040x", (long) repositoryName.hashCode() * 31 + index).substring(0, 40);
+    }
+
+    private static Map<String, Object> owner(String login) {
+        Map<String, Object> owner = new LinkedHashMap<>();
+        owner.put("login", login);
+        owner.put("id", 583231);
+        owner.put("node_id", "MDQ6VXNlcjU4MzIzMQ==");
+        owner.put("avatar_url", "https://avatars.githubusercontent.com/u/583231?v=4");
+        owner.put("url", "https://api.github.com/users/" + login);
+        owner.put("type", "User");
+        owner.put("site_admin", false);
+        return owner;
+    }
+
+    private static String write(Object value) {
+        try {
+            return OBJECT_MAPPER.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+}
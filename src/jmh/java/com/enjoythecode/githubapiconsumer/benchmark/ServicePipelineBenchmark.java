@@ -0,0 +1,107 @@
+package com.enjoythecode.githubapiconsumer.benchmark;
+
+import com.enjoythecode.githubapiconsumer.cache.BranchSnapshotCache;
+import com.enjoythecode.githubapiconsumer.cache.MissingUserCache;
+import com.enjoythecode.githubapiconsumer.cache.RequestCoalescer;
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.FanOutProperties;
+import com.enjoythecode.githubapiconsumer.config.NegativeCacheProperties;
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.repository.GithubRepository;
+import com.enjoythecode.githubapiconsumer.service.AdaptiveConcurrencyLimiter;
+import com.enjoythecode.githubapiconsumer.service.ReactiveGithubService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of the service pipeline itself (fork filtering, coalescing, the adaptive limiter and reassembly)
+ * against an in-memory {@link GithubRepository}, with no I/O involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicePipelineBenchmark {
+
+    private static final String USERNAME = "bench-user";
+
+    @Param({"10", "100"})
+    private int repositories;
+
+    @Param({"1", "20"})
+    private int branches;
+
+    private ReactiveGithubService githubService;
+
+    @Setup
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        FanOutProperties fanOutProperties = new FanOutProperties(16, 4, 32, true, Duration.ofSeconds(2), 0.5);
+        githubService = new ReactiveGithubService(new InMemoryGithubRepository(repositories, branches),
+                new AdaptiveConcurrencyLimiter(fanOutProperties, meterRegistry), new RequestCoalescer(meterRegistry),
+                new GithubLookupMetrics(meterRegistry),
+                new BranchSnapshotCache(new CacheProperties(false, 0, Duration.ZERO, Duration.ofHours(1)), meterRegistry),
+                new ResilienceProperties(false, Duration.ofSeconds(10), 0, Duration.ofMillis(100),
+                        Duration.ofSeconds(1), false, 20, 10, 0.5, Duration.ofSeconds(30)),
+                new MissingUserCache(new NegativeCacheProperties(true, Duration.ofMinutes(10), 1000, 0.01),
+                        meterRegistry));
+    }
+
+    @Benchmark
+    public List<RepositoryDto> getUserNonForkRepositories() {
+        return githubService.getUserNonForkRepositories(USERNAME).collectList().block();
+    }
+
+    private static final class InMemoryGithubRepository implements GithubRepository {
+
+        private final List<RepositoryDto> repositories;
+
+        private final List<BranchDto> branches;
+
+        private InMemoryGithubRepository(int repositoryCount, int branchCount) {
+            repositories = new ArrayList<>(repositoryCount);
+            for (int i = 0; i < repositoryCount; i++) {
+                repositories.add(new RepositoryDto(new OwnerDto(USERNAME), GithubPayloads.repositoryName(i), i % 4 == 0, null));
+            }
+            branches = new ArrayList<>(branchCount);
+            for (int i = 0; i < branchCount; i++) {
+                branches.add(new BranchDto("branch-" + i, new CommitDto(GithubPayloads.sha("repo", i))));
+            }
+        }
+
+        @Override
+        public Flux<RepositoryDto> getUserRepositoriesByUsername(String username) {
+            return Flux.fromIterable(repositories);
+        }
+
+        @Override
+        public Flux<BranchDto> getRepositoryBranches(String username, String repoName) {
+            return Flux.fromIterable(branches);
+        }
+
+    }
+
+}
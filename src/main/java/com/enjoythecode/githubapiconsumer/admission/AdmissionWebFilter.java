@@ -0,0 +1,105 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import com.enjoythecode.githubapiconsumer.exception.AdmissionRejectedException;
+import com.enjoythecode.githubapiconsumer.exception.handler.ExceptionResponseBody;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Admission control for {@code /api/**}. Each client, as named by {@link ClientIdentifier}, is held to its own
+ * token bucket so one client cannot spend the shared GitHub quota of everyone else, and admitted
+ * requests then pass the global {@link ConcurrencyGate}. Rejected requests get a 429 with {@code Retry-After}. A
+ * permit is held until the response is complete, so long-running streams count against the limit. The client is
+ * stored under {@link #CLIENT_ATTRIBUTE}, so handlers of requests that do more than one lookup can charge the rest.
+ */
+@Component
+public class AdmissionWebFilter implements WebFilter {
+
+    public static final String CLIENT_ATTRIBUTE = AdmissionWebFilter.class.getName() + ".client";
+
+    private static final String API_PATH = "/api/";
+
+    private final AdmissionProperties properties;
+
+    private final ClientIdentifier clientIdentifier;
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    private final ConcurrencyGate concurrencyGate;
+
+    private final ObjectMapper objectMapper;
+
+    private final Counter rateLimited;
+
+    private final Counter overloaded;
+
+    public AdmissionWebFilter(AdmissionProperties properties, ClientIdentifier clientIdentifier,
+                              ClientRateLimiter clientRateLimiter, ConcurrencyGate concurrencyGate,
+                              ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clientIdentifier = clientIdentifier;
+        this.clientRateLimiter = clientRateLimiter;
+        this.concurrencyGate = concurrencyGate;
+        this.objectMapper = objectMapper;
+        this.rateLimited = rejected(meterRegistry, "rate-limited");
+        this.overloaded = rejected(meterRegistry, "overloaded");
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        if (!properties.enabled() || !exchange.getRequest().getPath().value().startsWith(API_PATH)) {
+            return chain.filter(exchange);
+        }
+        String client = clientIdentifier.identify(exchange.getRequest());
+        exchange.getAttributes().put(CLIENT_ATTRIBUTE, client);
+        Duration wait = clientRateLimiter.tryAcquire(client);
+        if (!wait.isZero()) {
+            rateLimited.increment();
+            return reject(exchange.getResponse(), "Rate limit exceeded", wait);
+        }
+        return concurrencyGate.submit(chain.filter(exchange))
+                .onErrorResume(AdmissionRejectedException.class, e -> {
+                    overloaded.increment();
+                    return reject(exchange.getResponse(), e.getMessage(), e.getRetryAfter());
+                });
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, String message, Duration retryAfter) {
+        byte[] body;
+        try {
+            body = objectMapper.writeValueAsBytes(
+                    new ExceptionResponseBody(HttpStatus.TOO_MANY_REQUESTS.value(), message));
+        } catch (JsonProcessingException e) {
+            return Mono.error(e);
+        }
+        response.setStatusCode(HttpStatus.TOO_MANY_REQUESTS);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds(retryAfter))));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        return response.writeWith(Mono.just(response.bufferFactory().wrap(body)));
+    }
+
+    private static long retryAfterSeconds(Duration retryAfter) {
+        return retryAfter.plusNanos(999_999_999L).getSeconds();
+    }
+
+    private static Counter rejected(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("github.admission.rejected")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+}
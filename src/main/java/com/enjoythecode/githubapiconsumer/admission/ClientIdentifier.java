@@ -0,0 +1,80 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import io.netty.handler.ipfilter.IpFilterRuleType;
+import io.netty.handler.ipfilter.IpSubnetFilterRule;
+import io.netty.util.NetUtil;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+
+/**
+ * Names the client a request is charged to. Only API keys listed in {@code api-keys} identify a client, so
+ * inventing a fresh key per request does not buy a fresh bucket; every other request is charged to its address.
+ * When the connection comes from one of the {@code trusted-proxies} (addresses or CIDR ranges), the address is
+ * the right-most {@code X-Forwarded-For} entry that is not itself a trusted proxy, so clients behind a load
+ * balancer do not share its bucket and cannot choose their address by prepending entries.
+ */
+@Component
+public class ClientIdentifier {
+
+    private static final String FORWARDED_FOR_HEADER = "X-Forwarded-For";
+
+    private final AdmissionProperties properties;
+
+    private final List<IpSubnetFilterRule> trustedProxies;
+
+    public ClientIdentifier(AdmissionProperties properties) {
+        this.properties = properties;
+        this.trustedProxies = properties.trustedProxies().stream()
+                .map(ClientIdentifier::subnet)
+                .toList();
+    }
+
+    public String identify(ServerHttpRequest request) {
+        String apiKey = request.getHeaders().getFirst(properties.apiKeyHeader());
+        if (StringUtils.hasText(apiKey) && properties.apiKeys().contains(apiKey)) {
+            return "key:" + apiKey;
+        }
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        if (remoteAddress == null || remoteAddress.getAddress() == null) {
+            return "unknown";
+        }
+        InetAddress address = remoteAddress.getAddress();
+        if (isTrustedProxy(address)) {
+            List<String> forwardedFor = request.getHeaders().getValuesAsList(FORWARDED_FOR_HEADER);
+            for (int i = forwardedFor.size() - 1; i >= 0; i--) {
+                InetAddress hop = NetUtil.createInetAddressFromIpAddressString(forwardedFor.get(i).trim());
+                if (hop == null) {
+                    break;
+                }
+                address = hop;
+                if (!isTrustedProxy(hop)) {
+                    break;
+                }
+            }
+        }
+        return "ip:" + address.getHostAddress();
+    }
+
+    private boolean isTrustedProxy(InetAddress address) {
+        InetSocketAddress socketAddress = new InetSocketAddress(address, 0);
+        return trustedProxies.stream().anyMatch(rule -> rule.matches(socketAddress));
+    }
+
+    private static IpSubnetFilterRule subnet(String value) {
+        int slash = value.indexOf('/');
+        String address = slash < 0 ? value.trim() : value.substring(0, slash).trim();
+        InetAddress parsed = NetUtil.createInetAddressFromIpAddressString(address);
+        if (parsed == null) {
+            throw new IllegalArgumentException("Invalid trusted proxy address: " + value);
+        }
+        int prefix = slash < 0 ? parsed.getAddress().length * 8 : Integer.parseInt(value.substring(slash + 1).trim());
+        return new IpSubnetFilterRule(parsed, prefix, IpFilterRuleType.ACCEPT);
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Policy.VarExpiration;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-client token buckets in their GCRA form: a client is a single {@link AtomicLong} holding the theoretical
+ * arrival time of its next request, advanced by one emission interval per admitted request with a CAS, so admission
+ * never takes a lock. A client may run {@code client-burst} requests ahead of its rate. Buckets live in a bounded
+ * Caffeine map. Each bucket expires once its arrival time is far enough in the past for it to be full again, so debt
+ * charged to a client is kept however long it stays idle.
+ */
+@Component
+public class ClientRateLimiter {
+
+    private static final long MIN_IDLE_NANOS = 1_000_000_000L;
+
+    private final long emissionIntervalNanos;
+
+    private final long burstToleranceNanos;
+
+    private final Cache<String, AtomicLong> clients;
+
+    private final VarExpiration<String, AtomicLong> expiration;
+
+    public ClientRateLimiter(AdmissionProperties properties) {
+        this.emissionIntervalNanos = (long) (1_000_000_000L / properties.clientRequestsPerSecond());
+        this.burstToleranceNanos = emissionIntervalNanos * properties.clientBurst();
+        this.clients = Caffeine.newBuilder()
+                .maximumSize(properties.maxClients())
+                .expireAfter(new Expiry<String, AtomicLong>() {
+                    @Override
+                    public long expireAfterCreate(String client, AtomicLong arrival, long currentTime) {
+                        return Math.max(burstToleranceNanos, MIN_IDLE_NANOS);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String client, AtomicLong arrival, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String client, AtomicLong arrival, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        this.expiration = clients.policy().expireVariably().orElseThrow();
+    }
+
+    /**
+     * Takes a token for the client and returns {@link Duration#ZERO}, or returns how long the client has to wait
+     * for the next token without taking one.
+     */
+    public Duration tryAcquire(String client) {
+        AtomicLong arrival = clients.get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = System.nanoTime();
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long wait = next - now - burstToleranceNanos;
+            if (wait > 0) {
+                return Duration.ofNanos(wait);
+            }
+            if (arrival.compareAndSet(current, next)) {
+                expireAfter(client, next, now);
+                return Duration.ZERO;
+            }
+        }
+    }
+
+    /**
+     * Takes {@code requests} more tokens from a client that was already admitted, for requests that turn out to do
+     * that many more lookups. The client may go into debt, which it pays off before its next request is admitted.
+     */
+    public void charge(String client, int requests) {
+        long now = System.nanoTime();
+        long next = clients.get(client, key -> new AtomicLong(Long.MIN_VALUE))
+                .accumulateAndGet(now, (current, at) -> Math.max(current, at) + requests * emissionIntervalNanos);
+        expireAfter(client, next, now);
+    }
+
+    /**
+     * Keeps the bucket until its arrival time is a full burst tolerance in the past.
+     */
+    private void expireAfter(String client, long arrival, long now) {
+        expiration.setExpiresAfter(client,
+                Duration.ofNanos(Math.max(arrival - now + burstToleranceNanos, MIN_IDLE_NANOS)));
+    }
+
+}
@@ -0,0 +1,144 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import com.enjoythecode.githubapiconsumer.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Global limit on requests in progress, with a bounded FIFO queue in front of it. A request that finds the queue
+ * full, or is still queued after {@code queue-timeout}, is rejected right away instead of piling up, so latency stays
+ * bounded and the process keeps its footing under overload.
+ */
+@Component
+public class ConcurrencyGate {
+
+    private final AdmissionProperties properties;
+
+    private final Deque<Permit> waiting = new ArrayDeque<>();
+
+    private int inFlight;
+
+    private boolean draining;
+
+    public ConcurrencyGate(AdmissionProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        Gauge.builder("github.admission.in-flight", this, ConcurrencyGate::getInFlight)
+                .register(meterRegistry);
+        Gauge.builder("github.admission.queue-depth", this, ConcurrencyGate::getQueueDepth)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> submit(Mono<T> work) {
+        return Mono.usingWhen(
+                acquire().timeout(properties.queueTimeout(), Mono.error(() -> new AdmissionRejectedException(
+                        "Too many requests queued", properties.queueTimeout()))),
+                permit -> work,
+                this::release,
+                (permit, error) -> release(permit),
+                this::release
+        );
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return waiting.size();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = new Permit(sink);
+            sink.onCancel(() -> cancel(permit));
+            boolean granted = false;
+            boolean rejected = false;
+            synchronized (this) {
+                if (waiting.isEmpty() && inFlight < properties.maxConcurrentRequests()) {
+                    inFlight++;
+                    permit.granted = true;
+                    granted = true;
+                } else if (waiting.size() < properties.maxQueuedRequests()) {
+                    waiting.addLast(permit);
+                } else {
+                    rejected = true;
+                }
+            }
+            if (granted) {
+                sink.success(permit);
+            } else if (rejected) {
+                sink.error(new AdmissionRejectedException("Too many requests in progress", properties.queueTimeout()));
+            }
+        });
+    }
+
+    private void cancel(Permit permit) {
+        synchronized (this) {
+            if (!permit.granted) {
+                permit.released = true;
+                waiting.remove(permit);
+                return;
+            }
+        }
+        release(permit).subscribe();
+    }
+
+    private Mono<Void> release(Permit permit) {
+        return Mono.fromRunnable(() -> {
+            synchronized (this) {
+                if (permit.released) {
+                    return;
+                }
+                permit.released = true;
+                inFlight--;
+                if (draining) {
+                    return;
+                }
+                draining = true;
+            }
+            drain();
+        });
+    }
+
+    /**
+     * Hands free slots to queued requests. A request that completes synchronously while being started releases
+     * its slot back into this loop instead of recursing into the next one.
+     */
+    private void drain() {
+        while (true) {
+            Permit next;
+            synchronized (this) {
+                if (waiting.isEmpty() || inFlight >= properties.maxConcurrentRequests()) {
+                    draining = false;
+                    return;
+                }
+                next = waiting.pollFirst();
+                next.granted = true;
+                inFlight++;
+            }
+            next.sink.success(next);
+        }
+    }
+
+    private static final class Permit {
+
+        private final MonoSink<Permit> sink;
+
+        private boolean granted;
+
+        private boolean released;
+
+        private Permit(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+    }
+
+}
@@ -0,0 +1,74 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Last known branches of each repository together with the repository's {@code pushed_at}. Branch heads only move
+ * on a push, so while the listing reports the same {@code pushed_at} the stored branches are reused and the
+ * {@code /branches} call is skipped entirely. Reuses are counted as {@code github.cache.requests{result=unchanged}}.
+ * Partial-result lookups also fall back to the stored branches when a {@code /branches} call fails.
+ */
+@Component
+public class BranchSnapshotCache {
+
+    private final CacheProperties properties;
+
+    private final Cache<List<String>, BranchSnapshot> cache;
+
+    private final Counter unchanged;
+
+    public BranchSnapshotCache(CacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxElements())
+                .weigher((List<String> key, BranchSnapshot value) -> value.branches().size() + 1)
+                .expireAfterWrite(properties.expireAfter())
+                .build();
+        this.unchanged = Counter.builder("github.cache.requests")
+                .tag("result", "unchanged")
+                .register(meterRegistry);
+    }
+
+    public Optional<List<BranchDto>> getUnchanged(String username, String repoName, Instant pushedAt) {
+        if (!properties.enabled() || pushedAt == null) {
+            return Optional.empty();
+        }
+        BranchSnapshot snapshot = cache.getIfPresent(key(username, repoName));
+        if (snapshot == null || !snapshot.pushedAt().equals(pushedAt)) {
+            return Optional.empty();
+        }
+        unchanged.increment();
+        return Optional.of(snapshot.branches());
+    }
+
+    public Optional<List<BranchDto>> getLast(String username, String repoName) {
+        if (!properties.enabled()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(cache.getIfPresent(key(username, repoName))).map(BranchSnapshot::branches);
+    }
+
+    public void put(String username, String repoName, Instant pushedAt, List<BranchDto> branches) {
+        if (properties.enabled() && pushedAt != null) {
+            cache.put(key(username, repoName), new BranchSnapshot(pushedAt, List.copyOf(branches)));
+        }
+    }
+
+    private static List<String> key(String username, String repoName) {
+        return List.of(username.toLowerCase(Locale.ROOT), repoName.toLowerCase(Locale.ROOT));
+    }
+
+    private record BranchSnapshot(Instant pushedAt, List<BranchDto> branches) { }
+
+}
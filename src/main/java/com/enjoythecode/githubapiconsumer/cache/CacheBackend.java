@@ -0,0 +1,17 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import reactor.core.publisher.Mono;
+
+/**
+ * Storage behind {@link GithubResponseCache}, selected with {@code github.cache.backend}. Implementations must never
+ * fail a lookup: an unavailable store is reported as a miss and a failed write is dropped.
+ */
+public interface CacheBackend {
+
+    Mono<CachedPage<?>> get(String key);
+
+    void put(String key, CachedPage<?> page);
+
+    long estimatedSize();
+
+}
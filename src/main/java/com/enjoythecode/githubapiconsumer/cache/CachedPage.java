@@ -0,0 +1,11 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.repository.GithubPage;
+
+public record CachedPage<T>(String etag, GithubPage<T> page, long validatedAtNanos) {
+
+    public CachedPage<T> revalidated() {
+        return new CachedPage<>(etag, page, System.nanoTime());
+    }
+
+}
@@ -0,0 +1,99 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+
+/**
+ * Page-level cache of GitHub responses keyed by request URI. Entries younger than {@code fresh-for} are served
+ * directly, older ones are kept until {@code expire-after} so they can be revalidated with {@code If-None-Match}.
+ * Pages are held by the configured {@link CacheBackend}, either in this process or shared between replicas.
+ */
+@Component
+public class GithubResponseCache {
+
+    private static final String REFRESH_AHEAD = "github.cache.refresh-ahead";
+
+    private final CacheProperties properties;
+
+    private final CacheBackend backend;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    private final Counter revalidations;
+
+    private final Counter staleResponses;
+
+    public GithubResponseCache(CacheProperties properties, CacheBackend backend, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.backend = backend;
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+        this.revalidations = requests(meterRegistry, "revalidated");
+        this.staleResponses = requests(meterRegistry, "stale");
+        Gauge.builder("github.cache.size", backend, CacheBackend::estimatedSize).register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Mono<CachedPage<T>> get(String key) {
+        if (!properties.enabled()) {
+            return Mono.empty();
+        }
+        return backend.get(key).map(page -> (CachedPage<T>) page);
+    }
+
+    /**
+     * Makes lookups running in this context treat pages that turn stale within {@code margin} as stale already, so
+     * a background refresh revalidates them before a request finds them stale.
+     */
+    public static Context refreshAhead(Duration margin) {
+        return Context.of(REFRESH_AHEAD, margin);
+    }
+
+    public boolean isFresh(CachedPage<?> cachedPage) {
+        return isFresh(cachedPage, Context.empty());
+    }
+
+    public boolean isFresh(CachedPage<?> cachedPage, ContextView context) {
+        Duration margin = context.getOrDefault(REFRESH_AHEAD, Duration.ZERO);
+        return System.nanoTime() - cachedPage.validatedAtNanos() + margin.toNanos() < properties.freshFor().toNanos();
+    }
+
+    public void put(String key, CachedPage<?> cachedPage) {
+        if (properties.enabled()) {
+            backend.put(key, cachedPage);
+        }
+    }
+
+    public void recordHit() {
+        hits.increment();
+    }
+
+    public void recordMiss() {
+        misses.increment();
+    }
+
+    public void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    public void recordStale() {
+        staleResponses.increment();
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("github.cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
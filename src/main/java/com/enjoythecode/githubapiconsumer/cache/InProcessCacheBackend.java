@@ -0,0 +1,51 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+/**
+ * Caffeine-backed store local to this instance, bounded by total element count with W-TinyLFU eviction. Stored and
+ * revalidated pages are written through to the {@link SnapshotStore}, so a page that keeps answering {@code 304}
+ * does not age out of the snapshot, and the snapshot is loaded back as stale entries on startup.
+ */
+@Component
+@ConditionalOnProperty(name = "github.cache.backend", havingValue = "in-process", matchIfMissing = true)
+public class InProcessCacheBackend implements CacheBackend {
+
+    private final SnapshotStore snapshotStore;
+
+    private final Cache<String, CachedPage<?>> cache;
+
+    public InProcessCacheBackend(CacheProperties properties, SnapshotStore snapshotStore) {
+        this.snapshotStore = snapshotStore;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxElements())
+                .weigher((String key, CachedPage<?> value) -> value.page().items().size() + 1)
+                .expireAfterWrite(properties.expireAfter())
+                .build();
+        if (properties.enabled()) {
+            cache.putAll(snapshotStore.load(System.nanoTime() - properties.freshFor().toNanos()));
+        }
+    }
+
+    @Override
+    public Mono<CachedPage<?>> get(String key) {
+        return Mono.fromSupplier(() -> cache.getIfPresent(key));
+    }
+
+    @Override
+    public void put(String key, CachedPage<?> page) {
+        cache.put(key, page);
+        snapshotStore.append(key, page);
+    }
+
+    @Override
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+}
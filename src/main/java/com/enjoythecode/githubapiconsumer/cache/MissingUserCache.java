@@ -0,0 +1,93 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.NegativeCacheProperties;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Locale;
+import java.util.function.Supplier;
+
+/**
+ * Negative cache of usernames GitHub reported as missing, so repeated lookups of junk usernames are answered with
+ * a 404 without spending quota. Missing users are kept for {@code ttl} in a bounded Caffeine set, fronted by two
+ * generations of bloom filters that each cover one {@code ttl} window: the common lookup of an existing user is
+ * rejected by the filters without touching the set, and a filter false positive only costs a set lookup, never a
+ * wrong 404.
+ */
+@Component
+public class MissingUserCache {
+
+    private final NegativeCacheProperties properties;
+
+    private final Cache<String, Boolean> missingUsers;
+
+    private final Counter hits;
+
+    private volatile Generation current;
+
+    private volatile Generation previous;
+
+    public MissingUserCache(NegativeCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.missingUsers = Caffeine.newBuilder()
+                .maximumSize(properties.maxUsers())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.hits = Counter.builder("github.negative-cache.hits").register(meterRegistry);
+        this.current = newGeneration();
+        this.previous = newGeneration();
+        Gauge.builder("github.negative-cache.size", missingUsers, Cache::estimatedSize).register(meterRegistry);
+    }
+
+    /**
+     * Fails with {@link UserNotFoundException} right away for a username known to be missing, and otherwise runs
+     * the lookup and remembers the username if it turns out to be missing.
+     */
+    public <T> Flux<T> guard(String username, Supplier<Flux<T>> lookup) {
+        if (!properties.enabled()) {
+            return lookup.get();
+        }
+        String key = username.toLowerCase(Locale.ROOT);
+        return Flux.defer(() -> {
+            if (isMissing(key)) {
+                hits.increment();
+                return Flux.error(new UserNotFoundException("User '" + username + "' not found"));
+            }
+            return lookup.get().doOnError(UserNotFoundException.class, e -> add(key));
+        });
+    }
+
+    private boolean isMissing(String key) {
+        return (current.filter().mightContain(key) || previous.filter().mightContain(key))
+                && missingUsers.getIfPresent(key) != null;
+    }
+
+    private void add(String key) {
+        missingUsers.put(key, Boolean.TRUE);
+        Generation generation = current;
+        if (System.nanoTime() - generation.startedAtNanos() >= properties.ttl().toNanos()
+                || generation.filter().size() >= properties.maxUsers()) {
+            synchronized (this) {
+                if (current == generation) {
+                    previous = generation;
+                    current = newGeneration();
+                }
+            }
+        }
+        current.filter().put(key);
+    }
+
+    private Generation newGeneration() {
+        return new Generation(new BloomFilter(properties.maxUsers(), properties.falsePositiveRate()),
+                System.nanoTime());
+    }
+
+    private record Generation(BloomFilter filter, long startedAtNanos) { }
+
+}
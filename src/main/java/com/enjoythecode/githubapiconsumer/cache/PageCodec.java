@@ -0,0 +1,259 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.repository.GithubPage;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Compact binary form of a {@link CachedPage} for shared backends. Lengths and counts are varints, every string is
+ * written once per page and referenced by index afterwards (owner logins and branch names such as {@code main}
+ * repeat on nearly every element), and 40-character hex commit SHAs are packed into 20 bytes. The validation time is
+ * stored as wall-clock milliseconds, because {@link System#nanoTime()} is meaningless on another instance.
+ */
+final class PageCodec {
+
+    private static final byte VERSION = 1;
+
+    private static final byte REPOSITORIES = 0;
+
+    private static final byte BRANCHES = 1;
+
+    private static final int NULL_SHA = 0;
+
+    private static final int PACKED_SHA = 1;
+
+    private static final int STRING_SHA = 2;
+
+    private static final int NO_OWNER = 0;
+
+    private static final int FORK = 1;
+
+    private static final int HAS_PUSHED_AT = 1 << 1;
+
+    private static final int HAS_BRANCHES = 1 << 2;
+
+    private static final Pattern HEX_SHA = Pattern.compile("[0-9a-f]{40}");
+
+    private static final HexFormat HEX = HexFormat.of();
+
+    private final Clock clock;
+
+    PageCodec(Clock clock) {
+        this.clock = clock;
+    }
+
+    byte[] encode(CachedPage<?> cachedPage) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            Writer writer = new Writer(out);
+            List<?> items = cachedPage.page().items();
+            boolean branches = !items.isEmpty() && items.get(0) instanceof BranchDto;
+            out.writeByte(VERSION);
+            out.writeByte(branches ? BRANCHES : REPOSITORIES);
+            writer.string(cachedPage.etag());
+            out.writeLong(clock.millis() - (System.nanoTime() - cachedPage.validatedAtNanos()) / 1_000_000);
+            writer.string(cachedPage.page().next() != null ? cachedPage.page().next().toString() : null);
+            writer.varint(items.size());
+            for (Object item : items) {
+                if (branches) {
+                    writer.branch((BranchDto) item);
+                } else {
+                    writer.repository((RepositoryDto) item);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    CachedPage<?> decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            Reader reader = new Reader(in);
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IOException("Unsupported page encoding version " + version);
+            }
+            boolean branches = in.readByte() == BRANCHES;
+            String etag = reader.string();
+            long validatedAtNanos = System.nanoTime() - (clock.millis() - in.readLong()) * 1_000_000;
+            String next = reader.string();
+            int count = reader.varint();
+            List<Object> items = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                items.add(branches ? reader.branch() : reader.repository());
+            }
+            return new CachedPage<>(etag, new GithubPage<>(List.copyOf(items), next != null ? URI.create(next) : null),
+                    validatedAtNanos);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static final class Writer {
+
+        private final DataOutputStream out;
+
+        private final Map<String, Integer> strings = new HashMap<>();
+
+        private Writer(DataOutputStream out) {
+            this.out = out;
+        }
+
+        private void repository(RepositoryDto repository) throws IOException {
+            if (repository.ownerDto() == null) {
+                varint(NO_OWNER);
+            } else {
+                varint(1);
+                string(repository.ownerDto().login());
+            }
+            string(repository.name());
+            int flags = (repository.fork() ? FORK : 0)
+                    | (repository.pushedAt() != null ? HAS_PUSHED_AT : 0)
+                    | (repository.branches() != null ? HAS_BRANCHES : 0);
+            out.writeByte(flags);
+            if (repository.pushedAt() != null) {
+                out.writeLong(repository.pushedAt().getEpochSecond());
+            }
+            if (repository.branches() != null) {
+                varint(repository.branches().size());
+                for (BranchDto branch : repository.branches()) {
+                    branch(branch);
+                }
+            }
+        }
+
+        private void branch(BranchDto branch) throws IOException {
+            string(branch.name());
+            String sha = branch.commitDto() != null ? branch.commitDto().sha() : null;
+            if (sha == null) {
+                varint(NULL_SHA);
+            } else if (HEX_SHA.matcher(sha).matches()) {
+                varint(PACKED_SHA);
+                out.write(HEX.parseHex(sha));
+            } else {
+                varint(STRING_SHA);
+                string(sha);
+            }
+        }
+
+        /**
+         * {@code 0} is null, an odd value {@code 2i + 1} refers to the i-th string of the page and an even value
+         * {@code 2n + 2} introduces a new string of {@code n} UTF-8 bytes.
+         */
+        private void string(String value) throws IOException {
+            if (value == null) {
+                varint(0);
+                return;
+            }
+            Integer index = strings.get(value);
+            if (index != null) {
+                varint(2 * index + 1);
+                return;
+            }
+            strings.put(value, strings.size());
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            varint(2 * bytes.length + 2);
+            out.write(bytes);
+        }
+
+        private void varint(int value) throws IOException {
+            while ((value & ~0x7F) != 0) {
+                out.writeByte((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            out.writeByte(value);
+        }
+
+    }
+
+    private static final class Reader {
+
+        private final DataInputStream in;
+
+        private final List<String> strings = new ArrayList<>();
+
+        private final Map<String, OwnerDto> owners = new HashMap<>();
+
+        private Reader(DataInputStream in) {
+            this.in = in;
+        }
+
+        private RepositoryDto repository() throws IOException {
+            OwnerDto owner = null;
+            if (varint() != NO_OWNER) {
+                String login = string();
+                owner = login != null ? owners.computeIfAbsent(login, OwnerDto::new) : new OwnerDto(null);
+            }
+            String name = string();
+            int flags = in.readByte();
+            Instant pushedAt = (flags & HAS_PUSHED_AT) != 0 ? Instant.ofEpochSecond(in.readLong()) : null;
+            List<BranchDto> branches = null;
+            if ((flags & HAS_BRANCHES) != 0) {
+                int count = varint();
+                List<BranchDto> read = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    read.add(branch());
+                }
+                branches = List.copyOf(read);
+            }
+            return new RepositoryDto(owner, name, (flags & FORK) != 0, branches, pushedAt);
+        }
+
+        private BranchDto branch() throws IOException {
+            String name = string();
+            return switch (varint()) {
+                case NULL_SHA -> new BranchDto(name, null);
+                case PACKED_SHA -> new BranchDto(name, new CommitDto(HEX.formatHex(in.readNBytes(20))));
+                case STRING_SHA -> new BranchDto(name, new CommitDto(string()));
+                default -> throw new IOException("Unknown commit encoding");
+            };
+        }
+
+        private String string() throws IOException {
+            int header = varint();
+            if (header == 0) {
+                return null;
+            }
+            if ((header & 1) == 1) {
+                return strings.get(header >>> 1);
+            }
+            String value = new String(in.readNBytes((header - 2) >>> 1), StandardCharsets.UTF_8);
+            strings.add(value);
+            return value;
+        }
+
+        private int varint() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = in.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException("Malformed varint");
+        }
+
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.RedisCacheProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.lettuce.core.ClientOptions;
+import io.lettuce.core.RedisClient;
+import io.lettuce.core.RedisURI;
+import io.lettuce.core.SetArgs;
+import io.lettuce.core.api.StatefulRedisConnection;
+import io.lettuce.core.codec.ByteArrayCodec;
+import io.lettuce.core.codec.RedisCodec;
+import io.lettuce.core.codec.StringCodec;
+import io.lettuce.core.protocol.ProtocolVersion;
+import io.lettuce.core.pubsub.RedisPubSubAdapter;
+import io.lettuce.core.pubsub.StatefulRedisPubSubConnection;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.UUID;
+
+/**
+ * Store shared by every replica through a Redis-protocol server, so a page fetched or revalidated by one instance
+ * is reused by all of them. Pages are kept as {@link PageCodec} bytes under {@code key-prefix} and expire after
+ * {@code expire-after}. A bounded near cache in front of Redis serves repeated reads locally; every write publishes
+ * the key on an invalidation channel and the other replicas drop their near copy, so the next read picks up the new
+ * ETag. Redis failures and slow replies are counted, logged and answered as misses. The connections are opened in
+ * the background and retried with backoff until Redis answers, so the application starts while Redis is down and
+ * serves every read as a miss until then.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "github.cache.backend", havingValue = "redis")
+public class RedisCacheBackend implements CacheBackend, DisposableBean {
+
+    private static final RedisCodec<String, byte[]> CODEC = RedisCodec.of(StringCodec.UTF8, ByteArrayCodec.INSTANCE);
+
+    private static final String SEPARATOR = "\n";
+
+    private static final Duration MIN_RECONNECT_DELAY = Duration.ofMillis(500);
+
+    private static final Duration MAX_RECONNECT_DELAY = Duration.ofSeconds(30);
+
+    private final CacheProperties cacheProperties;
+
+    private final RedisCacheProperties properties;
+
+    private final PageCodec pageCodec;
+
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final String invalidationChannel;
+
+    private final Cache<String, CachedPage<?>> nearCache;
+
+    private final RedisClient client;
+
+    private final RedisURI uri;
+
+    private final Counter errors;
+
+    private final Disposable connecting;
+
+    private volatile StatefulRedisConnection<String, byte[]> connection;
+
+    private volatile StatefulRedisPubSubConnection<String, String> invalidations;
+
+    public RedisCacheBackend(CacheProperties cacheProperties, RedisCacheProperties properties, Clock clock,
+                             MeterRegistry meterRegistry) {
+        this.cacheProperties = cacheProperties;
+        this.properties = properties;
+        this.pageCodec = new PageCodec(clock);
+        this.invalidationChannel = properties.keyPrefix() + "invalidations";
+        this.nearCache = Caffeine.newBuilder()
+                .maximumWeight(properties.nearCacheMaxElements())
+                .weigher((String key, CachedPage<?> value) -> value.page().items().size() + 1)
+                .expireAfterWrite(cacheProperties.expireAfter())
+                .build();
+        this.errors = Counter.builder("github.cache.backend.errors").register(meterRegistry);
+        this.uri = RedisURI.create(properties.uri());
+        uri.setTimeout(properties.timeout());
+        this.client = RedisClient.create();
+        client.setOptions(ClientOptions.builder().protocolVersion(ProtocolVersion.RESP2).build());
+        this.connecting = connect()
+                .doOnError(e -> {
+                    errors.increment();
+                    log.warn("Cache backend connection to {} failed, retrying: {}", uri, e.toString());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, MIN_RECONNECT_DELAY).maxBackoff(MAX_RECONNECT_DELAY))
+                .subscribe();
+    }
+
+    @Override
+    public Mono<CachedPage<?>> get(String key) {
+        return Mono.defer(() -> {
+            CachedPage<?> near = nearCache.getIfPresent(key);
+            if (near != null) {
+                return Mono.just(near);
+            }
+            StatefulRedisConnection<String, byte[]> connection = this.connection;
+            if (connection == null) {
+                return Mono.empty();
+            }
+            return connection.reactive().get(properties.keyPrefix() + key)
+                    .timeout(properties.timeout())
+                    .<CachedPage<?>>map(pageCodec::decode)
+                    .doOnNext(page -> nearCache.put(key, page))
+                    .onErrorResume(e -> {
+                        errors.increment();
+                        log.warn("Cache backend read of {} failed: {}", key, e.toString());
+                        return Mono.empty();
+                    });
+        });
+    }
+
+    @Override
+    public void put(String key, CachedPage<?> page) {
+        nearCache.put(key, page);
+        StatefulRedisConnection<String, byte[]> connection = this.connection;
+        if (connection == null) {
+            return;
+        }
+        byte[] encoded = pageCodec.encode(page);
+        connection.reactive()
+                .set(properties.keyPrefix() + key, encoded, SetArgs.Builder.px(cacheProperties.expireAfter()))
+                .then(connection.reactive().publish(invalidationChannel,
+                        (instanceId + SEPARATOR + key).getBytes(StandardCharsets.UTF_8)))
+                .timeout(properties.timeout())
+                .subscribe(published -> { }, e -> {
+                    errors.increment();
+                    log.warn("Cache backend write of {} failed: {}", key, e.toString());
+                });
+    }
+
+    @Override
+    public long estimatedSize() {
+        return nearCache.estimatedSize();
+    }
+
+    @Override
+    public void destroy() {
+        connecting.dispose();
+        if (invalidations != null) {
+            invalidations.close();
+        }
+        if (connection != null) {
+            connection.close();
+        }
+        client.shutdown();
+    }
+
+    boolean isConnected() {
+        return connection != null;
+    }
+
+    /**
+     * Subscribes to the invalidation channel before opening the data connection, so no write made after this
+     * replica starts reading from Redis can leave a stale near copy behind.
+     */
+    private Mono<Void> connect() {
+        return Mono.fromCompletionStage(() -> client.connectPubSubAsync(StringCodec.UTF8, uri))
+                .flatMap(pubSub -> {
+                    pubSub.addListener(new RedisPubSubAdapter<>() {
+                        @Override
+                        public void message(String channel, String message) {
+                            onInvalidation(message);
+                        }
+                    });
+                    return Mono.fromCompletionStage(pubSub.async().subscribe(invalidationChannel))
+                            .then(Mono.fromCompletionStage(() -> client.connectAsync(CODEC, uri)))
+                            .doOnNext(data -> {
+                                invalidations = pubSub;
+                                connection = data;
+                            })
+                            .doOnError(e -> pubSub.closeAsync());
+                })
+                .then();
+    }
+
+    private void onInvalidation(String message) {
+        int separator = message.indexOf(SEPARATOR);
+        if (separator > 0 && !message.substring(0, separator).equals(instanceId)) {
+            nearCache.invalidate(message.substring(separator + 1));
+        }
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+
+/**
+ * A serialized response body with its optional gzip encoding and a strong ETag of the JSON content. The gzip
+ * encoding is a different representation, so it gets its own ETag.
+ */
+public record RenderedBody(byte[] identity, byte[] gzip, String etag) {
+
+    public boolean isCompressed() {
+        return gzip != null;
+    }
+
+    public String etag(boolean compressed) {
+        return compressed ? etag.substring(0, etag.length() - 1) + "-gzip\"" : etag;
+    }
+
+    /**
+     * Wraps the stored bytes without copying them; the buffer must not be modified.
+     */
+    public DataBuffer content(boolean compressed) {
+        return DefaultDataBufferFactory.sharedInstance.wrap(compressed ? gzip : identity);
+    }
+
+    int weight() {
+        return identity.length + (gzip != null ? gzip.length : 0);
+    }
+
+}
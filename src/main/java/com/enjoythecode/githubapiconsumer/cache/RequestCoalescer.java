@@ -0,0 +1,52 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Single-flight deduplication: concurrent callers asking for the same key share one upstream subscription and
+ * receive the same elements, replayed to late joiners. The key is released as soon as the upstream terminates,
+ * so results are never served after the call that produced them has finished.
+ */
+@Component
+public class RequestCoalescer {
+
+    private final Map<Object, Flux<?>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalesced;
+
+    public RequestCoalescer(MeterRegistry meterRegistry) {
+        this.coalesced = Counter.builder("github.requests.coalesced").register(meterRegistry);
+        Gauge.builder("github.requests.in-flight-keys", inFlight, Map::size).register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> Flux<T> coalesce(Object key, Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            Flux<?> existing = inFlight.get(key);
+            if (existing != null) {
+                coalesced.increment();
+                return (Flux<T>) existing;
+            }
+            return (Flux<T>) inFlight.computeIfAbsent(key, k -> share(k, call.get()));
+        });
+    }
+
+    private <T> Flux<T> share(Object key, Flux<T> call) {
+        AtomicReference<Flux<T>> shared = new AtomicReference<>();
+        shared.set(call
+                .doFinally(signal -> inFlight.remove(key, shared.get()))
+                .replay()
+                .refCount());
+        return shared.get();
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.BodyCacheProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.codec.EncodingException;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Final JSON bodies of lookups, keyed by what identifies the lookup. A body is serialized and gzip-compressed once
+ * and a hit is written straight from the stored bytes, so hot users cost neither Jackson nor compression. Bodies are
+ * bounded by total size and expire after {@code ttl}. ETags are derived from the content, so an unchanged result
+ * keeps its ETag across re-renders and clients revalidating with {@code If-None-Match} keep getting 304s.
+ */
+@Component
+public class ResponseBodyCache {
+
+    private static final int ETAG_BYTES = 16;
+
+    private final BodyCacheProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<Object, RenderedBody> cache;
+
+    private final Counter hits;
+
+    private final Counter misses;
+
+    public ResponseBodyCache(BodyCacheProperties properties, ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.maxSize().toBytes())
+                .weigher((Object key, RenderedBody body) -> body.weight())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.hits = requests(meterRegistry, "hit");
+        this.misses = requests(meterRegistry, "miss");
+    }
+
+    public Mono<RenderedBody> get(Object key, Supplier<? extends Flux<?>> source) {
+        if (!properties.enabled()) {
+            return render(source);
+        }
+        return Mono.defer(() -> {
+            RenderedBody cached = cache.getIfPresent(key);
+            if (cached != null) {
+                hits.increment();
+                return Mono.just(cached);
+            }
+            misses.increment();
+            return render(source).doOnNext(body -> cache.put(key, body));
+        });
+    }
+
+    public Mono<RenderedBody> render(Supplier<? extends Flux<?>> source) {
+        return Mono.defer(() -> source.get().collectList()).map(this::render);
+    }
+
+    private RenderedBody render(List<?> items) {
+        byte[] identity;
+        try {
+            identity = objectMapper.writeValueAsBytes(items);
+        } catch (JsonProcessingException e) {
+            throw new EncodingException("JSON encoding error: " + e.getOriginalMessage(), e);
+        }
+        byte[] gzip = identity.length >= properties.minCompressSize().toBytes() ? gzip(identity) : null;
+        return new RenderedBody(identity, gzip, etag(identity));
+    }
+
+    private static byte[] gzip(byte[] content) {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(content.length / 4);
+        try (GZIPOutputStream out = new GZIPOutputStream(compressed)) {
+            out.write(content);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return compressed.toByteArray();
+    }
+
+    private static String etag(byte[] content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content);
+            return "\"" + Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, ETAG_BYTES))
+                    + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("github.body-cache.requests")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,204 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.SnapshotProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.repository.GithubPage;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Optional append-only log of cached GitHub pages with their ETags, one JSON line per stored or revalidated page. It is replayed
+ * into {@link InProcessCacheBackend} at startup, so after a restart pages are revalidated with {@code If-None-Match}
+ * instead of being fetched again, and they can be served stale while GitHub is unreachable. The log is compacted
+ * to the latest entry per key on startup and again whenever the appends since the last compaction outnumber the
+ * entries it kept, so it stays within about twice the live size; appends and compactions run on a dedicated thread.
+ * Pages are written with their own mapper, because the API mapping hides {@code fork} and {@code pushed_at}.
+ */
+@Slf4j
+@Component
+public class SnapshotStore implements DisposableBean {
+
+    private static final String REPOSITORY = "repository";
+
+    private static final String BRANCH = "branch";
+
+    private static final int MIN_APPENDS_BEFORE_COMPACTION = 1024;
+
+    private final SnapshotProperties properties;
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    private final ExecutorService writer;
+
+    private BufferedWriter appender;
+
+    private long compactedEntries;
+
+    private long appendsSinceCompaction;
+
+    public SnapshotStore(SnapshotProperties properties, ObjectMapper objectMapper, Clock clock) {
+        this.properties = properties;
+        this.objectMapper = objectMapper.copy()
+                .registerModule(new JavaTimeModule())
+                .addMixIn(RepositoryDto.class, RepositoryMixIn.class);
+        this.clock = clock;
+        this.writer = properties.enabled()
+                ? Executors.newSingleThreadExecutor(Thread.ofPlatform().name("github-snapshot").daemon().factory())
+                : null;
+    }
+
+    public synchronized Map<String, CachedPage<?>> load(long validatedAtNanos) {
+        Map<String, CachedPage<?>> pages = new LinkedHashMap<>();
+        if (!properties.enabled()) {
+            return pages;
+        }
+        Map<String, Entry> entries;
+        try {
+            Path path = properties.path().toAbsolutePath();
+            Files.createDirectories(path.getParent());
+            entries = compact(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open snapshot log " + properties.path(), e);
+        }
+        entries.values().forEach(entry -> pages.put(entry.key(), toCachedPage(entry, validatedAtNanos)));
+        return pages;
+    }
+
+    public void append(String key, CachedPage<?> cachedPage) {
+        if (!properties.enabled()) {
+            return;
+        }
+        Entry entry = toEntry(key, cachedPage);
+        writer.execute(() -> write(entry));
+    }
+
+    @Override
+    public void destroy() throws IOException, InterruptedException {
+        if (writer == null) {
+            return;
+        }
+        writer.shutdown();
+        writer.awaitTermination(5, TimeUnit.SECONDS);
+        synchronized (this) {
+            if (appender != null) {
+                appender.close();
+            }
+        }
+    }
+
+    private synchronized void write(Entry entry) {
+        if (appender == null) {
+            return;
+        }
+        try {
+            appender.write(objectMapper.writeValueAsString(entry));
+            appender.newLine();
+            appender.flush();
+            if (++appendsSinceCompaction >= Math.max(MIN_APPENDS_BEFORE_COMPACTION, compactedEntries)) {
+                appender.close();
+                appender = null;
+                compact(properties.path().toAbsolutePath());
+            }
+        } catch (IOException e) {
+            log.warn("Cannot append to snapshot log {}", properties.path(), e);
+        }
+    }
+
+    /**
+     * Rewrites the log with the latest unexpired entry per key and reopens it for appending.
+     */
+    private Map<String, Entry> compact(Path path) throws IOException {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        long oldest = clock.millis() - properties.maxAge().toMillis();
+        if (Files.exists(path)) {
+            try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    Entry entry = parse(line);
+                    if (entry != null && entry.storedAt() >= oldest) {
+                        entries.remove(entry.key());
+                        entries.put(entry.key(), entry);
+                    }
+                }
+            }
+        }
+        Path compacted = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(compacted, StandardCharsets.UTF_8)) {
+            for (Entry entry : entries.values()) {
+                out.write(objectMapper.writeValueAsString(entry));
+                out.newLine();
+            }
+        }
+        Files.move(compacted, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        appender = Files.newBufferedWriter(path, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        compactedEntries = entries.size();
+        appendsSinceCompaction = 0;
+        return entries;
+    }
+
+    private Entry parse(String line) {
+        try {
+            return objectMapper.readValue(line, Entry.class);
+        } catch (JsonProcessingException e) {
+            log.warn("Skipping unreadable snapshot entry in {}", properties.path());
+            return null;
+        }
+    }
+
+    private Entry toEntry(String key, CachedPage<?> cachedPage) {
+        List<?> items = cachedPage.page().items();
+        String type = !items.isEmpty() && items.get(0) instanceof BranchDto ? BRANCH : REPOSITORY;
+        return new Entry(key, cachedPage.etag(), clock.millis(), type, objectMapper.valueToTree(items),
+                cachedPage.page().next());
+    }
+
+    private CachedPage<?> toCachedPage(Entry entry, long validatedAtNanos) {
+        Class<?> itemType = BRANCH.equals(entry.type()) ? BranchDto.class : RepositoryDto.class;
+        JavaType listType = objectMapper.getTypeFactory().constructCollectionType(List.class, itemType);
+        List<?> items = objectMapper.convertValue(entry.items(), listType);
+        return new CachedPage<>(entry.etag(), new GithubPage<>(items, entry.next()), validatedAtNanos);
+    }
+
+    record Entry(String key, String etag, long storedAt, String type, JsonNode items, URI next) { }
+
+    private abstract static class RepositoryMixIn {
+
+        @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+        abstract boolean fork();
+
+        @JsonProperty(value = "pushed_at", access = JsonProperty.Access.READ_WRITE)
+        abstract Instant pushedAt();
+
+    }
+
+}
@@ -0,0 +1,21 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+@ConfigurationProperties("github.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-API-Key") String apiKeyHeader,
+        @DefaultValue Set<String> apiKeys,
+        @DefaultValue List<String> trustedProxies,
+        @DefaultValue("10") double clientRequestsPerSecond,
+        @DefaultValue("50") int clientBurst,
+        @DefaultValue("100000") int maxClients,
+        @DefaultValue("256") int maxConcurrentRequests,
+        @DefaultValue("512") int maxQueuedRequests,
+        @DefaultValue("1s") Duration queueTimeout) { }
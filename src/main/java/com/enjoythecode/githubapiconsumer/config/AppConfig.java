@@ -1,15 +1,60 @@
 package com.enjoythecode.githubapiconsumer.config;
 
+import com.enjoythecode.githubapiconsumer.metrics.GithubClientMetrics;
+import com.enjoythecode.githubapiconsumer.ratelimit.RateLimitExchangeFilter;
+import com.enjoythecode.githubapiconsumer.ratelimit.RateLimitRequestInterceptor;
+import com.enjoythecode.githubapiconsumer.repository.GithubJsonDecoder;
+import com.enjoythecode.githubapiconsumer.resilience.ResilienceExchangeFilter;
+import com.enjoythecode.githubapiconsumer.resilience.ResilienceRequestInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.reactive.function.client.WebClient;
 
+import java.time.Clock;
+
 @Configuration
 public class AppConfig {
 
     @Bean
-    public WebClient webClient(WebClient.Builder builder) {
-        return builder.baseUrl("https://api.github.com").build();
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    public WebClient webClient(WebClient.Builder builder, GithubApiProperties properties,
+                               GithubHttpClientFactory httpClientFactory, GithubJsonDecoder githubJsonDecoder,
+                               ResilienceExchangeFilter resilienceExchangeFilter,
+                               RateLimitExchangeFilter rateLimitExchangeFilter, GithubClientMetrics clientMetrics) {
+        builder.baseUrl(properties.baseUrl())
+                .clientConnector(httpClientFactory.createConnector())
+                .codecs(codecs -> codecs.customCodecs().register(githubJsonDecoder))
+                .filter(resilienceExchangeFilter)
+                .filter(rateLimitExchangeFilter)
+                .filter(clientMetrics.exchangeFilter());
+        if (StringUtils.hasText(properties.token())) {
+            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + properties.token());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    public RestClient restClient(GithubApiProperties properties, GithubHttpClientFactory httpClientFactory,
+                                 RateLimitRequestInterceptor rateLimitRequestInterceptor,
+                                 GithubClientMetrics clientMetrics,
+                                 ResilienceRequestInterceptor resilienceRequestInterceptor) {
+        RestClient.Builder builder = RestClient.builder()
+                .baseUrl(properties.baseUrl())
+                .requestFactory(httpClientFactory.createRequestFactory())
+                .requestInterceptor(rateLimitRequestInterceptor)
+                .requestInterceptor(clientMetrics.requestInterceptor())
+                .requestInterceptor(resilienceRequestInterceptor);
+        if (StringUtils.hasText(properties.token())) {
+            builder.defaultHeader(HttpHeaders.AUTHORIZATION, "Bearer " + properties.token());
+        }
+        return builder.build();
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,9 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("github.batch")
+public record BatchProperties(
+        @DefaultValue("500") int maxUsernames,
+        @DefaultValue("8") int concurrency) { }
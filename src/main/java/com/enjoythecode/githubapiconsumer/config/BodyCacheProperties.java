@@ -0,0 +1,14 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+@ConfigurationProperties("github.body-cache")
+public record BodyCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("64MB") DataSize maxSize,
+        @DefaultValue("30s") Duration ttl,
+        @DefaultValue("1KB") DataSize minCompressSize) { }
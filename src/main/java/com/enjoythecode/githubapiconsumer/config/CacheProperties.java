@@ -0,0 +1,13 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("github.cache")
+public record CacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("200000") long maxElements,
+        @DefaultValue("60s") Duration freshFor,
+        @DefaultValue("6h") Duration expireAfter) { }
@@ -0,0 +1,15 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("github.fan-out")
+public record FanOutProperties(
+        @DefaultValue("16") int initialConcurrency,
+        @DefaultValue("4") int minConcurrency,
+        @DefaultValue("32") int maxConcurrency,
+        @DefaultValue("true") boolean adaptive,
+        @DefaultValue("2s") Duration latencyThreshold,
+        @DefaultValue("0.5") double backoffRatio) { }
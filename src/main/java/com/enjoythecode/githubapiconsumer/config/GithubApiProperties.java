@@ -0,0 +1,9 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("github.api")
+public record GithubApiProperties(
+        @DefaultValue("https://api.github.com") String baseUrl,
+        String token) { }
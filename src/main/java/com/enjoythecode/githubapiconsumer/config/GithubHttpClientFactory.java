@@ -0,0 +1,89 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import io.netty.channel.ChannelOption;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.stereotype.Component;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the HTTP clients used to reach GitHub from {@code github.http.*}. The reactive client uses one tuned
+ * Reactor Netty pool, requests gzip and publishes the pool's acquire time and active/idle/pending connection
+ * counts as {@code reactor.netty.connection.provider.*} metrics. The blocking {@code RestClient} runs on a
+ * separate JDK {@code HttpClient} with its own connection pool; it only takes the connect and response timeouts
+ * and does not compress. Both negotiate HTTP/2 over TLS so the 1 + N fan-out is multiplexed over a few
+ * connections.
+ */
+@Component
+public class GithubHttpClientFactory implements DisposableBean {
+
+    static final String POOL_NAME = "github";
+
+    static final String READ_TIMEOUT_HANDLER = "githubReadTimeout";
+
+    private final HttpClientProperties properties;
+
+    private final boolean secure;
+
+    private final ConnectionProvider connectionProvider;
+
+    public GithubHttpClientFactory(HttpClientProperties properties, GithubApiProperties apiProperties) {
+        this.properties = properties;
+        this.secure = "https".equalsIgnoreCase(URI.create(apiProperties.baseUrl()).getScheme());
+        this.connectionProvider = ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(properties.maxConnections())
+                .pendingAcquireMaxCount(properties.pendingAcquireMaxCount())
+                .pendingAcquireTimeout(properties.pendingAcquireTimeout())
+                .maxIdleTime(properties.maxIdleTime())
+                .maxLifeTime(properties.maxLifeTime())
+                .evictInBackground(properties.evictInBackground())
+                .metrics(true)
+                .build();
+    }
+
+    public ReactorClientHttpConnector createConnector() {
+        return new ReactorClientHttpConnector(createHttpClient());
+    }
+
+    public JdkClientHttpRequestFactory createRequestFactory() {
+        java.net.http.HttpClient httpClient = java.net.http.HttpClient.newBuilder()
+                .version(useHttp2() ? java.net.http.HttpClient.Version.HTTP_2 : java.net.http.HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.connectTimeout())
+                .build();
+        JdkClientHttpRequestFactory requestFactory = new JdkClientHttpRequestFactory(httpClient);
+        requestFactory.setReadTimeout(properties.responseTimeout());
+        return requestFactory;
+    }
+
+    HttpClient createHttpClient() {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) properties.connectTimeout().toMillis())
+                .option(ChannelOption.SO_KEEPALIVE, true)
+                .responseTimeout(properties.responseTimeout())
+                .doOnRequest((request, connection) -> connection.addHandlerLast(READ_TIMEOUT_HANDLER,
+                        new ReadTimeoutHandler(properties.readTimeout().toMillis(), TimeUnit.MILLISECONDS)))
+                .doAfterResponseSuccess((response, connection) -> connection.removeHandler(READ_TIMEOUT_HANDLER))
+                .compress(properties.compression());
+        if (useHttp2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11).secure();
+        }
+        return httpClient;
+    }
+
+    boolean useHttp2() {
+        return properties.http2() && secure;
+    }
+
+    @Override
+    public void destroy() {
+        connectionProvider.dispose();
+    }
+
+}
@@ -0,0 +1,13 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("github.negative-cache")
+public record NegativeCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("100000") int maxUsers,
+        @DefaultValue("0.01") double falsePositiveRate) { }
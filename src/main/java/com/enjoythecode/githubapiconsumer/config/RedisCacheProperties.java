@@ -0,0 +1,13 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("github.cache.redis")
+public record RedisCacheProperties(
+        @DefaultValue("redis://localhost:6379") String uri,
+        @DefaultValue("250ms") Duration timeout,
+        @DefaultValue("github-api-consumer:") String keyPrefix,
+        @DefaultValue("10000") long nearCacheMaxElements) { }
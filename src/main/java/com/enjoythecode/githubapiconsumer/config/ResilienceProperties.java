@@ -0,0 +1,19 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("github.resilience")
+public record ResilienceProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10s") Duration deadline,
+        @DefaultValue("2") int maxRetries,
+        @DefaultValue("100ms") Duration retryBackoff,
+        @DefaultValue("1s") Duration maxRetryBackoff,
+        @DefaultValue("false") boolean hedging,
+        @DefaultValue("20") int circuitBreakerWindow,
+        @DefaultValue("10") int circuitBreakerMinimumCalls,
+        @DefaultValue("0.5") double circuitBreakerFailureRate,
+        @DefaultValue("30s") Duration circuitBreakerOpenFor) { }
@@ -0,0 +1,16 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("github.warmer")
+public record WarmerProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("45s") Duration interval,
+        @DefaultValue List<String> usernames,
+        @DefaultValue("20") int topUsers,
+        @DefaultValue("200") int trackedUsers,
+        @DefaultValue("0.1") double budgetShare) { }
@@ -1,15 +1,37 @@
 package com.enjoythecode.githubapiconsumer.controller;
 
+import com.enjoythecode.githubapiconsumer.admission.AdmissionWebFilter;
+import com.enjoythecode.githubapiconsumer.admission.ClientRateLimiter;
+import com.enjoythecode.githubapiconsumer.cache.RenderedBody;
+import com.enjoythecode.githubapiconsumer.cache.ResponseBodyCache;
+import com.enjoythecode.githubapiconsumer.dto.BatchLookupRequestDto;
 import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryField;
+import com.enjoythecode.githubapiconsumer.dto.UserRepositoriesDto;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.service.GithubBatchService;
 import com.enjoythecode.githubapiconsumer.service.GithubService;
+import com.enjoythecode.githubapiconsumer.warmup.HotUserTracker;
 import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/github")
@@ -18,10 +40,93 @@ public class GithubController {
 
     private final GithubService githubService;
 
+    private final GithubLookupMetrics lookupMetrics;
+
+    private final GithubBatchService githubBatchService;
+
+    private final HotUserTracker hotUserTracker;
+
+    private final ResponseBodyCache responseBodyCache;
+
+    private final ClientRateLimiter clientRateLimiter;
+
+    /**
+     * Served from the rendered body cache unless {@code partial} is set. Spring answers a matching
+     * {@code If-None-Match} with 304 based on the returned ETag.
+     */
     @GetMapping("/users/{username}/repos")
-    public ResponseEntity<Flux<RepositoryDto>> getUserNonForkRepositories(@PathVariable String username) {
-        Flux<RepositoryDto> repositories = githubService.getUserNonForkRepositories(username);
-        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(repositories);
+    public Mono<ResponseEntity<DataBuffer>> getUserNonForkRepositories(
+            @PathVariable String username, @RequestParam(required = false) String fields,
+            @RequestParam(defaultValue = "false") boolean partial,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        Set<RepositoryField> selected = RepositoryField.parse(fields);
+        Mono<RenderedBody> body = partial
+                ? responseBodyCache.render(() -> lookup(username, selected, true))
+                : responseBodyCache.get(List.of(username.toLowerCase(Locale.ROOT), selected),
+                        () -> lookup(username, selected, false));
+        return body.doOnNext(rendered -> hotUserTracker.record(username))
+                .map(rendered -> toResponse(rendered, acceptsGzip(acceptEncoding)));
+    }
+
+    @GetMapping(value = "/users/{username}/repos",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+    public Flux<RepositoryDto> streamUserNonForkRepositories(@PathVariable String username,
+                                                             @RequestParam(required = false) String fields,
+                                                             @RequestParam(defaultValue = "false") boolean partial) {
+        Set<RepositoryField> selected = RepositoryField.parse(fields);
+        return lookup(username, selected, partial)
+                .doOnComplete(() -> hotUserTracker.record(username));
+    }
+
+    @PostMapping(value = "/users/repos:batch",
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE,
+                    MediaType.APPLICATION_JSON_VALUE})
+    public Flux<UserRepositoriesDto> getUsersNonForkRepositories(@RequestBody BatchLookupRequestDto request,
+                                                                 ServerWebExchange exchange) {
+        List<String> usernames = githubBatchService.distinctUsernames(request.usernames());
+        String client = exchange.getAttribute(AdmissionWebFilter.CLIENT_ATTRIBUTE);
+        if (client != null && usernames.size() > 1) {
+            clientRateLimiter.charge(client, usernames.size() - 1);
+        }
+        return githubBatchService.getUsersNonForkRepositories(usernames);
+    }
+
+    private Flux<RepositoryDto> lookup(String username, Set<RepositoryField> selected, boolean partial) {
+        Flux<RepositoryDto> repositories = lookupMetrics.instrument(() -> {
+            if (!selected.contains(RepositoryField.BRANCHES)) {
+                return githubService.getUserNonForkRepositoriesWithoutBranches(username);
+            }
+            return partial
+                    ? githubService.getUserNonForkRepositoriesWithPartialBranches(username)
+                    : githubService.getUserNonForkRepositories(username);
+        });
+        return repositories.map(repo -> RepositoryField.project(repo, selected));
+    }
+
+    private static ResponseEntity<DataBuffer> toResponse(RenderedBody body, boolean gzipAccepted) {
+        boolean compressed = gzipAccepted && body.isCompressed();
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(body.etag(compressed))
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (compressed) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body.content(compressed));
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            String name = parts[0].trim();
+            if (name.equalsIgnoreCase("gzip") || name.equals("*")) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,5 @@
+package com.enjoythecode.githubapiconsumer.dto;
+
+import java.util.List;
+
+public record BatchLookupRequestDto(List<String> usernames) { }
@@ -1,12 +1,38 @@
 package com.enjoythecode.githubapiconsumer.dto;
 
-import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
+import java.time.Instant;
 import java.util.List;
 
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public record RepositoryDto(
         @JsonProperty("owner") OwnerDto ownerDto,
         String name,
-        @JsonIgnore boolean fork,
-        List<BranchDto> branches) { }
+        @JsonProperty(access = JsonProperty.Access.WRITE_ONLY) boolean fork,
+        List<BranchDto> branches,
+        @JsonProperty(value = "pushed_at", access = JsonProperty.Access.WRITE_ONLY) Instant pushedAt,
+        RepositoryStatus status) {
+
+    public RepositoryDto(OwnerDto ownerDto, String name, boolean fork, List<BranchDto> branches, Instant pushedAt) {
+        this(ownerDto, name, fork, branches, pushedAt, null);
+    }
+
+    public RepositoryDto(OwnerDto ownerDto, String name, boolean fork, List<BranchDto> branches) {
+        this(ownerDto, name, fork, branches, null, null);
+    }
+
+    public RepositoryDto withOwner(OwnerDto ownerDto) {
+        return new RepositoryDto(ownerDto, name, fork, branches, pushedAt, status);
+    }
+
+    public RepositoryDto withBranches(List<BranchDto> branches) {
+        return new RepositoryDto(ownerDto, name, fork, branches, pushedAt, status);
+    }
+
+    public RepositoryDto withBranches(List<BranchDto> branches, RepositoryStatus status) {
+        return new RepositoryDto(ownerDto, name, fork, branches, pushedAt, status);
+    }
+
+}
@@ -0,0 +1,51 @@
+package com.enjoythecode.githubapiconsumer.dto;
+
+import com.enjoythecode.githubapiconsumer.exception.InvalidFieldsException;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public enum RepositoryField {
+
+    OWNER,
+    NAME,
+    BRANCHES;
+
+    public static Set<RepositoryField> parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return EnumSet.allOf(RepositoryField.class);
+        }
+        Set<RepositoryField> selected = EnumSet.noneOf(RepositoryField.class);
+        for (String field : fields.split(",")) {
+            selected.add(Arrays.stream(values())
+                    .filter(value -> value.name().equals(field.trim().toUpperCase(Locale.ROOT)))
+                    .findFirst()
+                    .orElseThrow(() -> new InvalidFieldsException("Unknown field '" + field.trim()
+                            + "', supported fields are " + supportedFields())));
+        }
+        return selected;
+    }
+
+    public static RepositoryDto project(RepositoryDto repo, Set<RepositoryField> fields) {
+        if (fields.size() == values().length) {
+            return repo;
+        }
+        return new RepositoryDto(
+                fields.contains(OWNER) ? repo.ownerDto() : null,
+                fields.contains(NAME) ? repo.name() : null,
+                repo.fork(),
+                fields.contains(BRANCHES) ? repo.branches() : null,
+                repo.pushedAt(),
+                fields.contains(BRANCHES) ? repo.status() : null);
+    }
+
+    private static String supportedFields() {
+        return Arrays.stream(values())
+                .map(value -> value.name().toLowerCase(Locale.ROOT))
+                .collect(Collectors.joining(", "));
+    }
+
+}
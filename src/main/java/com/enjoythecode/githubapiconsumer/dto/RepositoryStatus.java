@@ -0,0 +1,25 @@
+package com.enjoythecode.githubapiconsumer.dto;
+
+/**
+ * Completeness of a repository's branches in a partial-result lookup.
+ */
+public enum RepositoryStatus {
+
+    COMPLETE,
+
+    /**
+     * Branches could not be fetched; the ones returned by an earlier lookup are served instead.
+     */
+    STALE,
+
+    /**
+     * Branches could not be fetched and none are known; {@code branches} is empty.
+     */
+    FAILED,
+
+    /**
+     * The lookup deadline expired before the branches were fetched and none are known; {@code branches} is empty.
+     */
+    TIMED_OUT
+
+}
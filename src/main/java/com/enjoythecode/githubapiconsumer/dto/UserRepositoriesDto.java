@@ -0,0 +1,12 @@
+package com.enjoythecode.githubapiconsumer.dto;
+
+import com.enjoythecode.githubapiconsumer.exception.handler.ExceptionResponseBody;
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.util.List;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserRepositoriesDto(
+        String username,
+        List<RepositoryDto> repositories,
+        ExceptionResponseBody error) { }
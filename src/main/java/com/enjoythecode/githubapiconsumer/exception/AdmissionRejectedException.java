@@ -0,0 +1,20 @@
+package com.enjoythecode.githubapiconsumer.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Raised when a request is not admitted; stackless because it is expected in bulk under overload.
+ */
+@Getter
+public class AdmissionRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public AdmissionRejectedException(String message, Duration retryAfter) {
+        super(message, null, false, false);
+        this.retryAfter = retryAfter;
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.enjoythecode.githubapiconsumer.exception;
+
+public class DeadlineExceededException extends GithubApiException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.enjoythecode.githubapiconsumer.exception;
+
+public class GithubApiException extends RuntimeException {
+
+    public GithubApiException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.enjoythecode.githubapiconsumer.exception;
+
+public class GithubUnavailableException extends GithubApiException {
+
+    public GithubUnavailableException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.enjoythecode.githubapiconsumer.exception;
+
+public class InvalidBatchRequestException extends RuntimeException {
+
+    public InvalidBatchRequestException(String message) {
+        super(message);
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.enjoythecode.githubapiconsumer.exception;
+
+public class InvalidFieldsException extends RuntimeException {
+
+    public InvalidFieldsException(String message) {
+        super(message);
+    }
+
+}
@@ -1,9 +1,13 @@
 package com.enjoythecode.githubapiconsumer.exception;
 
+/**
+ * Stackless: it is an expected outcome, often raised for junk usernames at a high rate, and its stack trace would
+ * never be looked at.
+ */
 public class UserNotFoundException extends RuntimeException {
 
     public UserNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
-}
\ No newline at end of file
+}
@@ -1,5 +1,9 @@
 package com.enjoythecode.githubapiconsumer.exception.handler;
 
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.exception.GithubUnavailableException;
+import com.enjoythecode.githubapiconsumer.exception.InvalidBatchRequestException;
+import com.enjoythecode.githubapiconsumer.exception.InvalidFieldsException;
 import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -18,4 +22,31 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(body);
     }
 
-}
\ No newline at end of file
+    @ExceptionHandler({InvalidBatchRequestException.class, InvalidFieldsException.class})
+    public ResponseEntity<ExceptionResponseBody> handleBadRequestException(RuntimeException e) {
+        ExceptionResponseBody body = new ExceptionResponseBody(
+                HttpStatus.BAD_REQUEST.value(),
+                e.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(body);
+    }
+
+    @ExceptionHandler(GithubUnavailableException.class)
+    public ResponseEntity<ExceptionResponseBody> handleGithubUnavailableException(RuntimeException e) {
+        ExceptionResponseBody body = new ExceptionResponseBody(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                e.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(body);
+    }
+
+    @ExceptionHandler(DeadlineExceededException.class)
+    public ResponseEntity<ExceptionResponseBody> handleDeadlineExceededException(RuntimeException e) {
+        ExceptionResponseBody body = new ExceptionResponseBody(
+                HttpStatus.GATEWAY_TIMEOUT.value(),
+                e.getMessage()
+        );
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(body);
+    }
+
+}
@@ -0,0 +1,97 @@
+package com.enjoythecode.githubapiconsumer.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Times every call to GitHub as {@code github.client.requests}, tagged by endpoint template, method, status and
+ * outcome. Paths are reduced to their template (including the numeric-id forms GitHub uses in pagination links)
+ * so usernames and repository names never become tag values.
+ */
+@Component
+@RequiredArgsConstructor
+public class GithubClientMetrics {
+
+    static final String REPOSITORIES_ENDPOINT = "/users/{username}/repos";
+
+    static final String BRANCHES_ENDPOINT = "/repos/{username}/{repoName}/branches";
+
+    private static final List<Map.Entry<Pattern, String>> ENDPOINTS = List.of(
+            Map.entry(Pattern.compile("/users/[^/]+/repos"), REPOSITORIES_ENDPOINT),
+            Map.entry(Pattern.compile("/user/\\d+/repos"), REPOSITORIES_ENDPOINT),
+            Map.entry(Pattern.compile("/repos/[^/]+/[^/]+/branches"), BRANCHES_ENDPOINT),
+            Map.entry(Pattern.compile("/repositories/\\d+/branches"), BRANCHES_ENDPOINT),
+            Map.entry(Pattern.compile("/graphql"), "/graphql"));
+
+    private static final String IO_ERROR = "IO_ERROR";
+
+    private final MeterRegistry meterRegistry;
+
+    public ExchangeFilterFunction exchangeFilter() {
+        return (request, next) -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> record(request.method(), request.url(),
+                            String.valueOf(response.statusCode().value()), start))
+                    .doOnError(e -> record(request.method(), request.url(), IO_ERROR, start));
+        };
+    }
+
+    public ClientHttpRequestInterceptor requestInterceptor() {
+        return (request, body, execution) -> {
+            long start = System.nanoTime();
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                record(request.getMethod(), request.getURI(), String.valueOf(response.getStatusCode().value()), start);
+                return response;
+            } catch (IOException e) {
+                record(request.getMethod(), request.getURI(), IO_ERROR, start);
+                throw e;
+            }
+        };
+    }
+
+    public static String endpoint(URI uri) {
+        String path = uri.getPath();
+        for (Map.Entry<Pattern, String> endpoint : ENDPOINTS) {
+            if (endpoint.getKey().matcher(path).matches()) {
+                return endpoint.getValue();
+            }
+        }
+        return "other";
+    }
+
+    private void record(HttpMethod method, URI uri, String status, long start) {
+        Timer.builder("github.client.requests")
+                .tag("endpoint", endpoint(uri))
+                .tag("method", method.name())
+                .tag("status", status)
+                .tag("outcome", outcome(status))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    private static String outcome(String status) {
+        return switch (status.charAt(0)) {
+            case '2', '3' -> "SUCCESS";
+            case '4' -> "CLIENT_ERROR";
+            case '5' -> "SERVER_ERROR";
+            default -> "UNKNOWN";
+        };
+    }
+
+}
@@ -0,0 +1,100 @@
+package com.enjoythecode.githubapiconsumer.metrics;
+
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Pipeline metrics of repository lookups: {@code github.lookup.in-flight}, {@code github.lookup.first-element},
+ * {@code github.lookup.duration} by outcome, {@code github.lookup.fan-out} (branch calls per upstream lookup),
+ * {@code github.lookup.user-not-found} and {@code github.lookup.degraded} (repositories returned with stale or no
+ * branches by partial-result lookups, by status). None of them is tagged with the username.
+ */
+@Component
+public class GithubLookupMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Timer firstElement;
+
+    private final DistributionSummary fanOut;
+
+    private final Counter userNotFound;
+
+    public GithubLookupMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.firstElement = Timer.builder("github.lookup.first-element")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.fanOut = DistributionSummary.builder("github.lookup.fan-out")
+                .baseUnit("calls")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.userNotFound = Counter.builder("github.lookup.user-not-found").register(meterRegistry);
+        meterRegistry.gauge("github.lookup.in-flight", inFlight);
+    }
+
+    public <T> Flux<T> instrument(Supplier<Flux<T>> lookup) {
+        return Flux.defer(() -> {
+            long start = System.nanoTime();
+            AtomicBoolean firstEmitted = new AtomicBoolean();
+            AtomicReference<String> outcome = new AtomicReference<>("SUCCESS");
+            inFlight.incrementAndGet();
+            Flux<T> elements;
+            try {
+                elements = lookup.get();
+            } catch (RuntimeException e) {
+                elements = Flux.error(e);
+            }
+            return elements
+                    .doOnNext(element -> {
+                        if (firstEmitted.compareAndSet(false, true)) {
+                            firstElement.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (e instanceof UserNotFoundException) {
+                            userNotFound.increment();
+                            outcome.set("NOT_FOUND");
+                        } else {
+                            outcome.set("ERROR");
+                        }
+                    })
+                    .doOnCancel(() -> outcome.set("CANCELLED"))
+                    .doFinally(signal -> {
+                        inFlight.decrementAndGet();
+                        Timer.builder("github.lookup.duration")
+                                .tag("outcome", outcome.get())
+                                .publishPercentileHistogram()
+                                .register(meterRegistry)
+                                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    });
+        });
+    }
+
+    public void recordFanOut(int branchCalls) {
+        fanOut.record(branchCalls);
+    }
+
+    public void recordDegraded(RepositoryStatus status) {
+        meterRegistry.counter("github.lookup.degraded", "status", status.name()).increment();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+}
@@ -0,0 +1,142 @@
+package com.enjoythecode.githubapiconsumer.ratelimit;
+
+import com.enjoythecode.githubapiconsumer.config.RateLimitProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Token bucket shared by every outbound GitHub call. The bucket is refilled from the {@code X-RateLimit-*}
+ * headers of each response. While more than {@code low-watermark} calls remain nothing is delayed; below it,
+ * bulk calls wait for the window reset, interactive calls are spread evenly over the rest of the window and
+ * conditional (cache revalidation) calls go through as long as any budget is left.
+ */
+@Component
+public class GithubRateLimiter {
+
+    static final String REMAINING_HEADER = "X-RateLimit-Remaining";
+
+    static final String RESET_HEADER = "X-RateLimit-Reset";
+
+    private final RateLimitProperties properties;
+
+    private final Clock clock;
+
+    private final Map<RequestPriority, Timer> throttleTimers = new EnumMap<>(RequestPriority.class);
+
+    private long remaining = Long.MAX_VALUE;
+
+    private Instant resetAt = Instant.MIN;
+
+    private Instant pausedUntil = Instant.MIN;
+
+    private Instant nextSlot = Instant.MIN;
+
+    public GithubRateLimiter(RateLimitProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clock = clock;
+        for (RequestPriority priority : RequestPriority.values()) {
+            throttleTimers.put(priority, Timer.builder("github.rate-limit.throttle")
+                    .tag("priority", priority.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+        Gauge.builder("github.rate-limit.remaining", this, GithubRateLimiter::getRemaining)
+                .register(meterRegistry);
+    }
+
+    public Duration reserve(RequestPriority priority) {
+        Duration delay = properties.enabled() ? computeDelay(priority) : Duration.ZERO;
+        throttleTimers.get(priority).record(delay);
+        return delay;
+    }
+
+    public synchronized void update(HttpStatusCode status, HttpHeaders headers) {
+        Instant now = clock.instant();
+        Long remainingHeader = parseLong(headers.getFirst(REMAINING_HEADER));
+        Long resetHeader = parseLong(headers.getFirst(RESET_HEADER));
+        if (remainingHeader != null && resetHeader != null) {
+            remaining = Math.max(0, remainingHeader);
+            resetAt = Instant.ofEpochSecond(resetHeader);
+        }
+        Instant retryAt = parseRetryAfter(headers.getFirst(HttpHeaders.RETRY_AFTER), now);
+        if (retryAt != null) {
+            pausedUntil = retryAt;
+        } else if (isRateLimited(status) && remaining == 0 && resetAt.isAfter(now)) {
+            pausedUntil = resetAt;
+        }
+    }
+
+    public synchronized double getRemaining() {
+        return clock.instant().isBefore(resetAt) ? remaining : Double.NaN;
+    }
+
+    private synchronized Duration computeDelay(RequestPriority priority) {
+        Instant now = clock.instant();
+        if (now.isBefore(pausedUntil)) {
+            return Duration.between(now, pausedUntil);
+        }
+        if (!now.isBefore(resetAt) || remaining > properties.lowWatermark()) {
+            remaining--;
+            return Duration.ZERO;
+        }
+        if (remaining <= 0 || priority == RequestPriority.BULK) {
+            return Duration.between(now, resetAt);
+        }
+        remaining--;
+        if (priority == RequestPriority.CACHED) {
+            return Duration.ZERO;
+        }
+        Duration interval = Duration.between(now, resetAt).dividedBy(remaining + 1);
+        Instant slot = nextSlot.isAfter(now) ? nextSlot : now;
+        nextSlot = slot.plus(interval);
+        return Duration.between(now, slot);
+    }
+
+    /**
+     * {@code Retry-After} is either a number of seconds or an HTTP date. Anything else is ignored.
+     */
+    private static Instant parseRetryAfter(String value, Instant now) {
+        if (value == null) {
+            return null;
+        }
+        Long seconds = parseLong(value);
+        if (seconds != null) {
+            return seconds >= 0 ? now.plusSeconds(seconds) : null;
+        }
+        try {
+            return ZonedDateTime.parse(value.trim(), DateTimeFormatter.RFC_1123_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    private static Long parseLong(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static boolean isRateLimited(HttpStatusCode status) {
+        return status.isSameCodeAs(HttpStatus.FORBIDDEN) || status.isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS);
+    }
+
+}
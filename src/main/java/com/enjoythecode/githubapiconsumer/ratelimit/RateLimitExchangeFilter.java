@@ -0,0 +1,33 @@
+package com.enjoythecode.githubapiconsumer.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimitExchangeFilter implements ExchangeFilterFunction {
+
+    private final GithubRateLimiter rateLimiter;
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            RequestPriority priority = request.headers().containsKey(HttpHeaders.IF_NONE_MATCH)
+                    ? RequestPriority.CACHED
+                    : RequestPriority.from(context);
+            Duration delay = rateLimiter.reserve(priority);
+            Mono<ClientResponse> exchange = Mono.defer(() -> next.exchange(request))
+                    .doOnNext(response -> rateLimiter.update(response.statusCode(), response.headers().asHttpHeaders()));
+            return delay.isZero() ? exchange : Mono.delay(delay).then(exchange);
+        });
+    }
+
+}
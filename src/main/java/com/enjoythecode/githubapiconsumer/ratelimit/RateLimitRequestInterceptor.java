@@ -0,0 +1,45 @@
+package com.enjoythecode.githubapiconsumer.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+
+/**
+ * Blocking counterpart of {@link RateLimitExchangeFilter} for {@code RestClient}. Waiting simply parks the
+ * calling thread, which is cheap on the virtual threads the blocking path runs on.
+ */
+@Component
+@RequiredArgsConstructor
+public class RateLimitRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final GithubRateLimiter rateLimiter;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        RequestPriority priority = request.getHeaders().containsKey(HttpHeaders.IF_NONE_MATCH)
+                ? RequestPriority.CACHED
+                : RequestPriority.INTERACTIVE;
+        Duration delay = rateLimiter.reserve(priority);
+        if (!delay.isZero()) {
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for GitHub rate limit");
+            }
+        }
+        ClientHttpResponse response = execution.execute(request, body);
+        rateLimiter.update(response.getStatusCode(), response.getHeaders());
+        return response;
+    }
+
+}
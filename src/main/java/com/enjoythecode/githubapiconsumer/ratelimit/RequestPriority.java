@@ -0,0 +1,25 @@
+package com.enjoythecode.githubapiconsumer.ratelimit;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+public enum RequestPriority {
+
+    /**
+     * Conditional revalidation of a cached response; a 304 does not count against the GitHub quota.
+     */
+    CACHED,
+
+    INTERACTIVE,
+
+    BULK;
+
+    public static Context bulk() {
+        return Context.of(RequestPriority.class, BULK);
+    }
+
+    static RequestPriority from(ContextView context) {
+        return context.getOrDefault(RequestPriority.class, INTERACTIVE);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClient;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.execution", havingValue = "virtual-threads")
+public class BlockingGithubRepository {
+
+    private static final ParameterizedTypeReference<List<RepositoryDto>> REPOSITORIES =
+            new ParameterizedTypeReference<>() { };
+
+    private static final ParameterizedTypeReference<List<BranchDto>> BRANCHES =
+            new ParameterizedTypeReference<>() { };
+
+    private final RestClient restClient;
+
+    public List<RepositoryDto> getUserRepositoriesByUsername(String username) {
+        try {
+            return getAllPages(REPOSITORIES, restClient.get()
+                    .uri("/users/{username}/repos?per_page={perPage}", username, RestGithubRepository.PAGE_SIZE));
+        } catch (HttpClientErrorException.NotFound e) {
+            throw new UserNotFoundException("User '" + username + "' not found");
+        }
+    }
+
+    public List<BranchDto> getRepositoryBranches(String username, String repoName) {
+        return getAllPages(BRANCHES, restClient.get()
+                .uri("/repos/{username}/{repoName}/branches?per_page={perPage}",
+                        username, repoName, RestGithubRepository.PAGE_SIZE));
+    }
+
+    private <T> List<T> getAllPages(ParameterizedTypeReference<List<T>> type, RestClient.RequestHeadersSpec<?> firstPage) {
+        List<T> items = new ArrayList<>();
+        RestClient.RequestHeadersSpec<?> request = firstPage;
+        while (request != null) {
+            ResponseEntity<List<T>> page = request
+                    .accept(MediaType.APPLICATION_JSON)
+                    .retrieve()
+                    .toEntity(type);
+            if (page.getBody() != null) {
+                items.addAll(page.getBody());
+            }
+            Optional<URI> next = RestGithubRepository.nextPageUri(page.getHeaders());
+            request = next.isPresent() ? restClient.get().uri(next.get()) : null;
+        }
+        return items;
+    }
+
+}
@@ -0,0 +1,223 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteBufferFeeder;
+import com.github.benmanes.caffeine.cache.Interner;
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.AbstractDecoder;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Token-level decoder for GitHub {@code /repos} and {@code /branches} bodies. Tokens are pulled from a non-blocking
+ * parser as network buffers arrive, so neither the page nor a single element is ever buffered or turned into a tree.
+ * Only {@code owner.login}, {@code name}, {@code fork}, {@code pushed_at} and {@code commit.sha} are read, every other
+ * value is skipped without being materialized, owner logins and branch names are interned, and forks are dropped
+ * before a {@link RepositoryDto} is created for them.
+ */
+@Component
+public class GithubJsonDecoder extends AbstractDecoder<Object> {
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    private final Interner<String> interner = Interner.newWeakInterner();
+
+    public GithubJsonDecoder() {
+        super(MediaType.APPLICATION_JSON, new MediaType("application", "*+json"));
+    }
+
+    @Override
+    public boolean canDecode(ResolvableType elementType, MimeType mimeType) {
+        Class<?> type = elementType.toClass();
+        return (type == RepositoryDto.class || type == BranchDto.class) && super.canDecode(elementType, mimeType);
+    }
+
+    @Override
+    public Flux<Object> decode(Publisher<DataBuffer> input, ResolvableType elementType,
+                               MimeType mimeType, Map<String, Object> hints) {
+        return Flux.defer(() -> {
+            PageReader reader = new PageReader(elementType.toClass() == RepositoryDto.class);
+            return Flux.from(input)
+                    .concatMapIterable(reader::feed)
+                    .concatWith(Flux.defer(() -> Flux.fromIterable(reader.endOfInput())))
+                    .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+        });
+    }
+
+    @Override
+    public Mono<Object> decodeToMono(Publisher<DataBuffer> input, ResolvableType elementType,
+                                     MimeType mimeType, Map<String, Object> hints) {
+        return decode(input, elementType, mimeType, hints).singleOrEmpty();
+    }
+
+    private final class PageReader {
+
+        private static final int TRACKED_LEVELS = 2;
+
+        private final boolean repositories;
+
+        private final JsonParser parser;
+
+        private final String[] fields = new String[TRACKED_LEVELS];
+
+        private int depth;
+
+        private int elementDepth = -1;
+
+        private String name;
+
+        private String nested;
+
+        private boolean fork;
+
+        private Instant pushedAt;
+
+        private OwnerDto owner;
+
+        private PageReader(boolean repositories) {
+            this.repositories = repositories;
+            try {
+                this.parser = jsonFactory.createNonBlockingByteBufferParser();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        private List<Object> feed(DataBuffer buffer) {
+            List<Object> elements = new ArrayList<>();
+            try (DataBuffer.ByteBufferIterator iterator = buffer.readableByteBuffers()) {
+                ByteBufferFeeder feeder = (ByteBufferFeeder) parser.getNonBlockingInputFeeder();
+                while (iterator.hasNext()) {
+                    feeder.feedInput(iterator.next());
+                    readTokens(elements);
+                }
+            } catch (IOException e) {
+                throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+            } finally {
+                DataBufferUtils.release(buffer);
+            }
+            return elements;
+        }
+
+        private List<Object> endOfInput() {
+            List<Object> elements = new ArrayList<>();
+            parser.getNonBlockingInputFeeder().endOfInput();
+            try {
+                readTokens(elements);
+                parser.close();
+            } catch (IOException e) {
+                throw new DecodingException("JSON decoding error: " + e.getMessage(), e);
+            }
+            return elements;
+        }
+
+        private void readTokens(List<Object> elements) throws IOException {
+            JsonToken token;
+            while ((token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+                switch (token) {
+                    case START_OBJECT, START_ARRAY -> {
+                        depth++;
+                        if (token == JsonToken.START_OBJECT && elementDepth < 0) {
+                            elementDepth = depth;
+                        }
+                        if (depth == elementDepth && token == JsonToken.START_OBJECT) {
+                            startElement();
+                        } else {
+                            setField(depth - elementDepth, null);
+                        }
+                    }
+                    case END_OBJECT, END_ARRAY -> {
+                        if (depth == elementDepth && token == JsonToken.END_OBJECT) {
+                            endElement(elements);
+                        }
+                        depth--;
+                    }
+                    case FIELD_NAME -> setField(depth - elementDepth, parser.currentName());
+                    default -> readValue(token);
+                }
+            }
+        }
+
+        private void readValue(JsonToken token) throws IOException {
+            int level = depth - elementDepth;
+            if (level == 0 && "name".equals(fields[0]) && token == JsonToken.VALUE_STRING) {
+                name = repositories ? parser.getText() : interner.intern(parser.getText());
+            } else if (repositories && level == 0 && "fork".equals(fields[0])) {
+                fork = token == JsonToken.VALUE_TRUE;
+            } else if (repositories && level == 0 && "pushed_at".equals(fields[0]) && token == JsonToken.VALUE_STRING) {
+                pushedAt = parseInstant(parser.getText());
+            } else if (level == 1 && token == JsonToken.VALUE_STRING && isNested()) {
+                nested = parser.getText();
+            }
+        }
+
+        private static Instant parseInstant(String text) {
+            try {
+                return Instant.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new DecodingException("JSON decoding error: invalid pushed_at '" + text + "'", e);
+            }
+        }
+
+        private boolean isNested() {
+            return repositories
+                    ? "owner".equals(fields[0]) && "login".equals(fields[1])
+                    : "commit".equals(fields[0]) && "sha".equals(fields[1]);
+        }
+
+        private void startElement() {
+            fields[0] = null;
+            fields[1] = null;
+            name = null;
+            nested = null;
+            fork = false;
+            pushedAt = null;
+        }
+
+        private void endElement(List<Object> elements) {
+            if (!repositories) {
+                elements.add(new BranchDto(name, nested != null ? new CommitDto(nested) : null));
+            } else if (!fork) {
+                elements.add(new RepositoryDto(owner(nested), name, false, null, pushedAt));
+            }
+        }
+
+        private OwnerDto owner(String login) {
+            if (login == null) {
+                return null;
+            }
+            if (owner == null || !owner.login().equals(login)) {
+                owner = new OwnerDto(interner.intern(login));
+            }
+            return owner;
+        }
+
+        private void setField(int level, String field) {
+            if (level >= 0 && level < TRACKED_LEVELS) {
+                fields[level] = field;
+            }
+        }
+
+    }
+
+}
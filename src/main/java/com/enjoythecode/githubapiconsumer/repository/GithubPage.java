@@ -0,0 +1,12 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import java.net.URI;
+import java.util.List;
+
+public record GithubPage<T>(List<T> items, URI next) {
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+}
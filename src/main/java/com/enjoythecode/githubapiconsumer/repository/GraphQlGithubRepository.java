@@ -0,0 +1,165 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.exception.GithubApiException;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.enjoythecode.githubapiconsumer.resilience.ResilienceExchangeFilter;
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Fetches non-fork repositories together with their branch heads through the GitHub GraphQL API, so a user
+ * with N repositories costs about N / 100 round trips instead of 1 + N. Repositories with more than
+ * {@value #PAGE_SIZE} branches get follow-up queries for the remaining refs only.
+ */
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.api.backend", havingValue = "graphql")
+public class GraphQlGithubRepository implements GithubRepository {
+
+    static final int PAGE_SIZE = 100;
+
+    private static final String REPOSITORIES_QUERY = """
+            query($login: String!, $pageSize: Int!, $cursor: String) {
+              repositoryOwner(login: $login) {
+                repositories(first: $pageSize, after: $cursor, isFork: false, ownerAffiliations: OWNER) {
+                  pageInfo { hasNextPage endCursor }
+                  nodes {
+                    name
+                    isFork
+                    owner { login }
+                    refs(refPrefix: "refs/heads/", first: $pageSize) {
+                      pageInfo { hasNextPage endCursor }
+                      nodes { name target { oid } }
+                    }
+                  }
+                }
+              }
+            }""";
+
+    private static final String BRANCHES_QUERY = """
+            query($owner: String!, $name: String!, $pageSize: Int!, $cursor: String) {
+              repository(owner: $owner, name: $name) {
+                refs(refPrefix: "refs/heads/", first: $pageSize, after: $cursor) {
+                  pageInfo { hasNextPage endCursor }
+                  nodes { name target { oid } }
+                }
+              }
+            }""";
+
+    private final WebClient webClient;
+
+    @Override
+    public Flux<RepositoryDto> getUserRepositoriesByUsername(String username) {
+        return getRepositoriesPage(username, null)
+                .expand(repositories -> hasNextPage(repositories)
+                        ? getRepositoriesPage(username, endCursor(repositories))
+                        : Mono.empty())
+                .flatMapIterable(repositories -> repositories.path("nodes"), 1)
+                .concatMap(this::toRepository);
+    }
+
+    @Override
+    public Flux<BranchDto> getRepositoryBranches(String username, String repoName) {
+        return getBranchesAfter(username, repoName, null);
+    }
+
+    @Override
+    public boolean includesBranches() {
+        return true;
+    }
+
+    private Mono<JsonNode> getRepositoriesPage(String username, String cursor) {
+        Map<String, Object> variables = variables(cursor);
+        variables.put("login", username);
+        return query(REPOSITORIES_QUERY, variables)
+                .flatMap(data -> {
+                    JsonNode owner = data.path("repositoryOwner");
+                    if (owner.isMissingNode() || owner.isNull()) {
+                        return Mono.error(new UserNotFoundException("User '" + username + "' not found"));
+                    }
+                    return Mono.just(owner.path("repositories"));
+                });
+    }
+
+    private Flux<BranchDto> getBranchesAfter(String owner, String name, String cursor) {
+        return getRefsPage(owner, name, cursor)
+                .expand(refs -> hasNextPage(refs) ? getRefsPage(owner, name, endCursor(refs)) : Mono.empty())
+                .flatMapIterable(GraphQlGithubRepository::toBranches, 1);
+    }
+
+    private Mono<JsonNode> getRefsPage(String owner, String name, String cursor) {
+        Map<String, Object> variables = variables(cursor);
+        variables.put("owner", owner);
+        variables.put("name", name);
+        return query(BRANCHES_QUERY, variables)
+                .map(data -> data.path("repository").path("refs"));
+    }
+
+    private Mono<RepositoryDto> toRepository(JsonNode node) {
+        String owner = node.path("owner").path("login").asText();
+        String name = node.path("name").asText();
+        JsonNode refs = node.path("refs");
+        Flux<BranchDto> remainingBranches = hasNextPage(refs)
+                ? getBranchesAfter(owner, name, endCursor(refs))
+                : Flux.empty();
+        return Flux.fromIterable(toBranches(refs))
+                .concatWith(remainingBranches)
+                .collectList()
+                .map(branches -> new RepositoryDto(new OwnerDto(owner), name, node.path("isFork").asBoolean(), branches));
+    }
+
+    private Mono<JsonNode> query(String query, Map<String, Object> variables) {
+        return webClient.post()
+                .uri("/graphql")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(Map.of("query", query, "variables", variables))
+                .retrieve()
+                .bodyToMono(JsonNode.class)
+                .onErrorMap(ResilienceExchangeFilter::unwrap)
+                .flatMap(response -> response.hasNonNull("data")
+                        ? Mono.just(response.get("data"))
+                        : Mono.error(new GithubApiException("GraphQL query failed: " + response.path("errors"))));
+    }
+
+    private static Map<String, Object> variables(String cursor) {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("pageSize", PAGE_SIZE);
+        if (cursor != null) {
+            variables.put("cursor", cursor);
+        }
+        return variables;
+    }
+
+    private static List<BranchDto> toBranches(JsonNode refs) {
+        List<BranchDto> branches = new ArrayList<>();
+        for (JsonNode ref : refs.path("nodes")) {
+            branches.add(new BranchDto(ref.path("name").asText(), new CommitDto(ref.path("target").path("oid").asText())));
+        }
+        return branches;
+    }
+
+    private static boolean hasNextPage(JsonNode connection) {
+        return connection.path("pageInfo").path("hasNextPage").asBoolean();
+    }
+
+    private static String endCursor(JsonNode connection) {
+        return connection.path("pageInfo").path("endCursor").asText();
+    }
+
+}
@@ -0,0 +1,133 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.cache.CachedPage;
+import com.enjoythecode.githubapiconsumer.cache.GithubResponseCache;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.exception.GithubUnavailableException;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.enjoythecode.githubapiconsumer.resilience.ResilienceExchangeFilter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import org.springframework.web.util.UriTemplateHandler;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.api.backend", havingValue = "rest", matchIfMissing = true)
+public class RestGithubRepository implements GithubRepository {
+
+    static final int PAGE_SIZE = 100;
+
+    private static final Pattern NEXT_LINK_PATTERN = Pattern.compile("<([^>]+)>;\\s*rel=\"next\"");
+
+    private static final UriTemplateHandler URI_EXPANDER = new DefaultUriBuilderFactory();
+
+    private final WebClient webClient;
+
+    private final GithubResponseCache responseCache;
+
+    @Override
+    public Flux<RepositoryDto> getUserRepositoriesByUsername(String username) {
+        return getAllPages(RepositoryDto.class, "/users/{username}/repos?per_page={perPage}", username, PAGE_SIZE)
+                .onErrorResume(WebClientResponseException.NotFound.class, e ->
+                        Flux.error(new UserNotFoundException("User '" + username + "' not found"))
+                );
+    }
+
+    @Override
+    public Flux<BranchDto> getRepositoryBranches(String username, String repoName) {
+        return getAllPages(BranchDto.class, "/repos/{username}/{repoName}/branches?per_page={perPage}",
+                username, repoName, PAGE_SIZE);
+    }
+
+    /**
+     * Follows the {@code Link: rel="next"} chain. Each page is emitted as soon as it arrives and the request
+     * for the following page is issued while the current one is still being consumed downstream, so at most
+     * two pages are held in memory at any time.
+     */
+    private <T> Flux<T> getAllPages(Class<T> type, String uriTemplate, Object... uriVariables) {
+        String firstPageKey = URI_EXPANDER.expand(uriTemplate, uriVariables).toString();
+        return getPage(type, firstPageKey, () -> webClient.get().uri(uriTemplate, uriVariables))
+                .expand(page -> page.hasNext()
+                        ? getPage(type, page.next().toString(), () -> webClient.get().uri(page.next()))
+                        : Mono.empty())
+                .flatMapIterable(GithubPage::items, 1);
+    }
+
+    private <T> Mono<GithubPage<T>> getPage(Class<T> type, String cacheKey,
+                                            Supplier<WebClient.RequestHeadersSpec<?>> request) {
+        return Mono.deferContextual(context -> responseCache.<T>get(cacheKey)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .flatMap(cached -> {
+                    if (cached.isPresent() && responseCache.isFresh(cached.get(), context)) {
+                        responseCache.recordHit();
+                        return Mono.just(cached.get().page());
+                    }
+                    WebClient.RequestHeadersSpec<?> spec = request.get();
+                    cached.ifPresent(entry -> spec.header(HttpHeaders.IF_NONE_MATCH, entry.etag()));
+                    return spec
+                            .accept(MediaType.APPLICATION_JSON)
+                            .retrieve()
+                            .toEntityList(type)
+                            .map(entity -> toPage(cacheKey, entity, cached))
+                            .onErrorMap(ResilienceExchangeFilter::unwrap)
+                            .onErrorResume(e -> isUnreachable(e) && cached.isPresent(), e -> {
+                                responseCache.recordStale();
+                                return Mono.just(cached.get().page());
+                            });
+                }));
+    }
+
+    private static boolean isUnreachable(Throwable e) {
+        return e instanceof WebClientRequestException
+                || e instanceof GithubUnavailableException
+                || e instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is5xxServerError();
+    }
+
+    private <T> GithubPage<T> toPage(String cacheKey, ResponseEntity<List<T>> entity, Optional<CachedPage<T>> cached) {
+        if (entity.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED) && cached.isPresent()) {
+            responseCache.recordRevalidation();
+            responseCache.put(cacheKey, cached.get().revalidated());
+            return cached.get().page();
+        }
+        responseCache.recordMiss();
+        GithubPage<T> page = new GithubPage<>(
+                entity.getBody() != null ? entity.getBody() : List.of(),
+                nextPageUri(entity.getHeaders()).orElse(null));
+        String etag = entity.getHeaders().getETag();
+        if (etag != null) {
+            responseCache.put(cacheKey, new CachedPage<>(etag, page, System.nanoTime()));
+        }
+        return page;
+    }
+
+    static Optional<URI> nextPageUri(HttpHeaders headers) {
+        String link = headers.getFirst(HttpHeaders.LINK);
+        if (link == null) {
+            return Optional.empty();
+        }
+        Matcher matcher = NEXT_LINK_PATTERN.matcher(link);
+        return matcher.find() ? Optional.of(URI.create(matcher.group(1))) : Optional.empty();
+    }
+
+}
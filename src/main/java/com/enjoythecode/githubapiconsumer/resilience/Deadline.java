@@ -0,0 +1,45 @@
+package com.enjoythecode.githubapiconsumer.resilience;
+
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Time budget of one lookup. It travels in the Reactor context, so every GitHub call made on behalf of the lookup,
+ * however deep in the pipeline, gives up when the lookup does.
+ */
+public record Deadline(long expiresAtNanos) {
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * Starts a deadline when the pipeline is subscribed, keeping an enclosing deadline that expires earlier.
+     */
+    public static Function<Context, Context> within(Duration timeout) {
+        return context -> {
+            Deadline deadline = after(timeout);
+            Deadline effective = from(context)
+                    .filter(enclosing -> enclosing.expiresAtNanos - deadline.expiresAtNanos < 0)
+                    .orElse(deadline);
+            return context.put(Deadline.class, effective);
+        };
+    }
+
+    public static Optional<Deadline> from(ContextView context) {
+        return context.getOrEmpty(Deadline.class);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+}
@@ -0,0 +1,173 @@
+package com.enjoythecode.githubapiconsumer.resilience;
+
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * One count-based circuit breaker per GitHub endpoint template. A breaker opens once at least
+ * {@code circuit-breaker-failure-rate} of the last {@code circuit-breaker-window} calls failed with a 5xx, an I/O
+ * error or a timeout, rejects calls for {@code circuit-breaker-open-for}, then lets a single probe through and
+ * closes again if the probe succeeds.
+ */
+@Component
+public class GithubCircuitBreaker {
+
+    public enum State {
+
+        CLOSED,
+
+        HALF_OPEN,
+
+        OPEN
+
+    }
+
+    private final ResilienceProperties properties;
+
+    private final Clock clock;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, Breaker> breakers = new ConcurrentHashMap<>();
+
+    public GithubCircuitBreaker(ResilienceProperties properties, Clock clock, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public boolean tryAcquire(String endpoint) {
+        return !properties.enabled() || breaker(endpoint).tryAcquire();
+    }
+
+    public void onSuccess(String endpoint) {
+        if (properties.enabled()) {
+            breaker(endpoint).record(false);
+        }
+    }
+
+    public void onFailure(String endpoint) {
+        if (properties.enabled()) {
+            breaker(endpoint).record(true);
+        }
+    }
+
+    /**
+     * Releases the permit of a call that was cancelled before its outcome was known.
+     */
+    public void onIgnored(String endpoint) {
+        if (properties.enabled()) {
+            breaker(endpoint).ignore();
+        }
+    }
+
+    public State getState(String endpoint) {
+        return breaker(endpoint).getState();
+    }
+
+    private Breaker breaker(String endpoint) {
+        return breakers.computeIfAbsent(endpoint, Breaker::new);
+    }
+
+    private final class Breaker {
+
+        private final boolean[] failures = new boolean[properties.circuitBreakerWindow()];
+
+        private final Counter rejected;
+
+        private int next;
+
+        private int calls;
+
+        private int failureCount;
+
+        private State state = State.CLOSED;
+
+        private Instant openUntil = Instant.MIN;
+
+        private boolean probing;
+
+        private Breaker(String endpoint) {
+            rejected = Counter.builder("github.circuit-breaker.rejected")
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry);
+            Gauge.builder("github.circuit-breaker.state", this, breaker -> breaker.getState().ordinal())
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry);
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (state == State.OPEN && !clock.instant().isBefore(openUntil)) {
+                state = State.HALF_OPEN;
+                probing = false;
+            }
+            if (state == State.OPEN || state == State.HALF_OPEN && probing) {
+                rejected.increment();
+                return false;
+            }
+            if (state == State.HALF_OPEN) {
+                probing = true;
+            }
+            return true;
+        }
+
+        private synchronized void record(boolean failure) {
+            if (state == State.HALF_OPEN) {
+                if (failure) {
+                    open();
+                } else {
+                    reset(State.CLOSED);
+                }
+                return;
+            }
+            if (state == State.OPEN) {
+                return;
+            }
+            if (calls == failures.length) {
+                failureCount -= failures[next] ? 1 : 0;
+            } else {
+                calls++;
+            }
+            failures[next] = failure;
+            failureCount += failure ? 1 : 0;
+            next = (next + 1) % failures.length;
+            if (calls >= properties.circuitBreakerMinimumCalls()
+                    && failureCount >= properties.circuitBreakerFailureRate() * calls) {
+                open();
+            }
+        }
+
+        private synchronized void ignore() {
+            if (state == State.HALF_OPEN) {
+                probing = false;
+            }
+        }
+
+        private synchronized State getState() {
+            return state;
+        }
+
+        private void open() {
+            reset(State.OPEN);
+            openUntil = clock.instant().plus(properties.circuitBreakerOpenFor());
+        }
+
+        private void reset(State newState) {
+            state = newState;
+            probing = false;
+            next = 0;
+            calls = 0;
+            failureCount = 0;
+        }
+
+    }
+
+}
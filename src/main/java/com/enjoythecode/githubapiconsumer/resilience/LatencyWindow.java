@@ -0,0 +1,48 @@
+package com.enjoythecode.githubapiconsumer.resilience;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * p95 latency of the most recent calls to one endpoint. The percentile is recomputed every
+ * {@link #RECOMPUTE_EVERY} samples rather than on every read.
+ */
+final class LatencyWindow {
+
+    private static final int SIZE = 128;
+
+    private static final int MIN_SAMPLES = 32;
+
+    private static final int RECOMPUTE_EVERY = 16;
+
+    private static final double PERCENTILE = 0.95;
+
+    private final AtomicLongArray samples = new AtomicLongArray(SIZE);
+
+    private final AtomicLong recorded = new AtomicLong();
+
+    private volatile long percentileNanos = -1;
+
+    void record(long nanos) {
+        long count = recorded.incrementAndGet();
+        samples.set((int) ((count - 1) % SIZE), nanos);
+        if (count >= MIN_SAMPLES && count % RECOMPUTE_EVERY == 0) {
+            int size = (int) Math.min(count, SIZE);
+            long[] sorted = new long[size];
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+            }
+            Arrays.sort(sorted);
+            percentileNanos = sorted[(int) Math.ceil(PERCENTILE * size) - 1];
+        }
+    }
+
+    Optional<Duration> percentile() {
+        long nanos = percentileNanos;
+        return nanos < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(nanos));
+    }
+
+}
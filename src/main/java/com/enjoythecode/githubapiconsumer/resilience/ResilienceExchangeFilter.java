@@ -0,0 +1,146 @@
+package com.enjoythecode.githubapiconsumer.resilience;
+
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.exception.GithubApiException;
+import com.enjoythecode.githubapiconsumer.exception.GithubUnavailableException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubClientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bounds the latency of every GitHub call. Each attempt is cut off at the lookup {@link Deadline}, 5xx responses and
+ * I/O errors such as connection resets are retried with jittered exponential backoff, an attempt still running after
+ * the endpoint's p95 latency is raced against a second identical request when hedging is enabled, and calls to an
+ * endpoint whose {@link GithubCircuitBreaker} is open fail fast. Every call this application makes to GitHub is a
+ * read, so retrying and hedging are safe. A 5xx that is still failing after the last retry is signalled as a
+ * {@link WebClientResponseException}, exactly as {@code retrieve()} would have.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilienceExchangeFilter implements ExchangeFilterFunction {
+
+    private final ResilienceProperties properties;
+
+    private final GithubCircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = GithubClientMetrics.endpoint(request.url());
+        return Mono.deferContextual(context -> {
+            Optional<Deadline> deadline = Deadline.from(context);
+            Mono<ClientResponse> attempt = attempt(request, next, endpoint, deadline);
+            Mono<ClientResponse> call = Mono.defer(() -> hedged(attempt, endpoint));
+            if (!properties.enabled() || properties.maxRetries() <= 0) {
+                return call;
+            }
+            return call.retryWhen(Retry.backoff(properties.maxRetries(), properties.retryBackoff())
+                    .maxBackoff(properties.maxRetryBackoff())
+                    .jitter(0.5)
+                    .filter(ResilienceExchangeFilter::isRetryable)
+                    .doBeforeRetry(signal -> meterRegistry.counter("github.client.retries", "endpoint", endpoint)
+                            .increment())
+                    .onRetryExhaustedThrow((spec, signal) -> signal.failure()));
+        });
+    }
+
+    /**
+     * The WebClient wraps any error raised by a filter in a {@link WebClientRequestException}; this restores the
+     * {@link DeadlineExceededException} or {@link GithubUnavailableException} raised here.
+     */
+    public static Throwable unwrap(Throwable e) {
+        return e instanceof WebClientRequestException && e.getCause() instanceof GithubApiException cause ? cause : e;
+    }
+
+    private Mono<ClientResponse> attempt(ClientRequest request, ExchangeFunction next, String endpoint,
+                                         Optional<Deadline> deadline) {
+        return Mono.defer(() -> {
+            if (deadline.isPresent() && deadline.get().isExpired()) {
+                return Mono.error(deadlineExceeded(endpoint));
+            }
+            if (!circuitBreaker.tryAcquire(endpoint)) {
+                return Mono.error(new GithubUnavailableException(
+                        "GitHub " + endpoint + " is unavailable, failing fast until it recovers"));
+            }
+            long start = System.nanoTime();
+            Mono<ClientResponse> exchange = next.exchange(request);
+            if (deadline.isPresent()) {
+                exchange = exchange.timeout(deadline.get().remaining(), Mono.error(() -> deadlineExceeded(endpoint)));
+            }
+            return exchange
+                    .doOnError(e -> circuitBreaker.onFailure(endpoint))
+                    .doOnCancel(() -> circuitBreaker.onIgnored(endpoint))
+                    .flatMap(response -> {
+                        if (response.statusCode().is5xxServerError()) {
+                            circuitBreaker.onFailure(endpoint);
+                            return response.createException().flatMap(Mono::error);
+                        }
+                        circuitBreaker.onSuccess(endpoint);
+                        latency(endpoint).record(System.nanoTime() - start);
+                        return Mono.just(response);
+                    });
+        });
+    }
+
+    private Mono<ClientResponse> hedged(Mono<ClientResponse> attempt, String endpoint) {
+        Optional<Duration> hedgeAfter = properties.enabled() && properties.hedging()
+                ? latency(endpoint).percentile()
+                : Optional.empty();
+        if (hedgeAfter.isEmpty()) {
+            return attempt;
+        }
+        AtomicBoolean claimed = new AtomicBoolean();
+        Mono<ClientResponse> hedge = Mono.delay(hedgeAfter.get())
+                .then(Mono.defer(() -> {
+                    meterRegistry.counter("github.client.hedges", "endpoint", endpoint).increment();
+                    return claim(attempt, claimed);
+                }))
+                .onErrorResume(GithubUnavailableException.class, e -> Mono.empty());
+        return Flux.merge(claim(attempt, claimed), hedge).next();
+    }
+
+    /**
+     * Lets only the first response through; one that arrives after another attempt already won is released.
+     */
+    private static Mono<ClientResponse> claim(Mono<ClientResponse> attempt, AtomicBoolean claimed) {
+        return attempt.flatMap(response -> claimed.compareAndSet(false, true)
+                ? Mono.just(response)
+                : response.releaseBody().then(Mono.empty()));
+    }
+
+    private LatencyWindow latency(String endpoint) {
+        return latencies.computeIfAbsent(endpoint, key -> new LatencyWindow());
+    }
+
+    private static DeadlineExceededException deadlineExceeded(String endpoint) {
+        return new DeadlineExceededException("Deadline exceeded before GitHub " + endpoint + " responded");
+    }
+
+    private static boolean isRetryable(Throwable e) {
+        return e instanceof IOException
+                || e instanceof WebClientResponseException responseException
+                && responseException.getStatusCode().is5xxServerError();
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.enjoythecode.githubapiconsumer.resilience;
+
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.exception.GithubUnavailableException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubClientMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Blocking counterpart of {@link ResilienceExchangeFilter} for {@code RestClient}: calls fail fast while the
+ * endpoint's circuit breaker is open, and 5xx responses and I/O errors are retried with jittered exponential backoff.
+ * A {@code RestClient} interceptor can only re-run the interceptors registered after it, so this one is registered
+ * last and the rate limiter and client metrics see a retried call once. The lookup deadline is enforced by
+ * {@code VirtualThreadGithubService}, which interrupts the calls still running when it expires; hedging is only
+ * available on the reactive path.
+ */
+@Component
+@RequiredArgsConstructor
+public class ResilienceRequestInterceptor implements ClientHttpRequestInterceptor {
+
+    private final ResilienceProperties properties;
+
+    private final GithubCircuitBreaker circuitBreaker;
+
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution)
+            throws IOException {
+        String endpoint = GithubClientMetrics.endpoint(request.getURI());
+        int maxRetries = properties.enabled() ? properties.maxRetries() : 0;
+        for (int retry = 0; ; retry++) {
+            if (!circuitBreaker.tryAcquire(endpoint)) {
+                throw new GithubUnavailableException(
+                        "GitHub " + endpoint + " is unavailable, failing fast until it recovers");
+            }
+            try {
+                ClientHttpResponse response = execution.execute(request, body);
+                if (!response.getStatusCode().is5xxServerError()) {
+                    circuitBreaker.onSuccess(endpoint);
+                    return response;
+                }
+                circuitBreaker.onFailure(endpoint);
+                if (retry >= maxRetries) {
+                    return response;
+                }
+                response.close();
+            } catch (IOException e) {
+                circuitBreaker.onFailure(endpoint);
+                if (retry >= maxRetries) {
+                    throw e;
+                }
+            }
+            meterRegistry.counter("github.client.retries", "endpoint", endpoint).increment();
+            sleep(backoff(retry));
+        }
+    }
+
+    private Duration backoff(int retry) {
+        long nanos = Math.min(properties.maxRetryBackoff().toNanos(), properties.retryBackoff().toNanos() << retry);
+        return Duration.ofNanos(nanos / 2 + ThreadLocalRandom.current().nextLong(nanos / 2 + 1));
+    }
+
+    private static void sleep(Duration delay) throws InterruptedIOException {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off before retrying a GitHub call");
+        }
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.config.FanOutProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Shared FIFO limiter for the per-repository branch fan-out. With {@code github.fan-out.adaptive} enabled the
+ * limit follows AIMD: it grows by roughly one permit per window of successful calls and is cut by
+ * {@code backoff-ratio} whenever GitHub answers 403/429 or a call exceeds {@code latency-threshold}.
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private final FanOutProperties properties;
+
+    private final Deque<Permit> waiting = new ArrayDeque<>();
+
+    private double limit;
+
+    private int inFlight;
+
+    private boolean draining;
+
+    public AdaptiveConcurrencyLimiter(FanOutProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.limit = properties.initialConcurrency();
+        Gauge.builder("github.fan-out.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("github.fan-out.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+        Gauge.builder("github.fan-out.queue-depth", this, AdaptiveConcurrencyLimiter::getQueueDepth)
+                .register(meterRegistry);
+    }
+
+    public <T> Mono<T> submit(Mono<T> call) {
+        return Mono.usingWhen(
+                acquire(),
+                permit -> call,
+                permit -> Mono.fromRunnable(() -> release(permit, classify(permit, null))),
+                (permit, error) -> Mono.fromRunnable(() -> release(permit, classify(permit, error))),
+                permit -> Mono.fromRunnable(() -> release(permit, Outcome.IGNORED))
+        );
+    }
+
+    public int getMaxConcurrency() {
+        return properties.adaptive() ? properties.maxConcurrency() : properties.initialConcurrency();
+    }
+
+    public synchronized double getLimit() {
+        return limit;
+    }
+
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    public synchronized int getQueueDepth() {
+        return waiting.size();
+    }
+
+    private Mono<Permit> acquire() {
+        return Mono.create(sink -> {
+            Permit permit = new Permit(sink);
+            sink.onCancel(() -> cancel(permit));
+            boolean granted;
+            synchronized (this) {
+                granted = waiting.isEmpty() && inFlight < currentLimit();
+                if (granted) {
+                    inFlight++;
+                    permit.granted = true;
+                } else {
+                    waiting.addLast(permit);
+                }
+            }
+            if (granted) {
+                permit.start();
+            }
+        });
+    }
+
+    private void cancel(Permit permit) {
+        synchronized (this) {
+            if (!permit.granted) {
+                permit.released = true;
+                waiting.remove(permit);
+                return;
+            }
+        }
+        release(permit, Outcome.IGNORED);
+    }
+
+    private void release(Permit permit, Outcome outcome) {
+        synchronized (this) {
+            if (permit.released) {
+                return;
+            }
+            permit.released = true;
+            inFlight--;
+            adjustLimit(outcome);
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        drain();
+    }
+
+    /**
+     * Starts waiting permits while the limit allows. A call that completes synchronously while being started
+     * releases its permit back into this loop instead of recursing, so a long queue of calls failing fast (e.g.
+     * past their deadline) cannot overflow the stack.
+     */
+    private void drain() {
+        while (true) {
+            Permit next;
+            synchronized (this) {
+                if (waiting.isEmpty() || inFlight >= currentLimit()) {
+                    draining = false;
+                    return;
+                }
+                next = waiting.pollFirst();
+                next.granted = true;
+                inFlight++;
+            }
+            next.start();
+        }
+    }
+
+    private void adjustLimit(Outcome outcome) {
+        if (!properties.adaptive()) {
+            return;
+        }
+        switch (outcome) {
+            case SUCCESS -> limit = Math.min(properties.maxConcurrency(), limit + 1.0 / limit);
+            case OVERLOADED -> limit = Math.max(properties.minConcurrency(), limit * properties.backoffRatio());
+            case IGNORED -> { }
+        }
+    }
+
+    private int currentLimit() {
+        return Math.max(1, (int) limit);
+    }
+
+    private Outcome classify(Permit permit, Throwable error) {
+        if (error instanceof WebClientResponseException e
+                && (e.getStatusCode().isSameCodeAs(HttpStatus.FORBIDDEN)
+                || e.getStatusCode().isSameCodeAs(HttpStatus.TOO_MANY_REQUESTS))) {
+            return Outcome.OVERLOADED;
+        }
+        if (error != null) {
+            return Outcome.IGNORED;
+        }
+        long elapsed = System.nanoTime() - permit.startNanos;
+        return elapsed > properties.latencyThreshold().toNanos() ? Outcome.OVERLOADED : Outcome.SUCCESS;
+    }
+
+    private enum Outcome {
+        SUCCESS, OVERLOADED, IGNORED
+    }
+
+    private static final class Permit {
+
+        private final MonoSink<Permit> sink;
+
+        private boolean granted;
+
+        private boolean released;
+
+        private long startNanos;
+
+        private Permit(MonoSink<Permit> sink) {
+            this.sink = sink;
+        }
+
+        private void start() {
+            startNanos = System.nanoTime();
+            sink.success(this);
+        }
+
+    }
+
+}
@@ -0,0 +1,105 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.config.BatchProperties;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.UserRepositoriesDto;
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.exception.GithubUnavailableException;
+import com.enjoythecode.githubapiconsumer.exception.InvalidBatchRequestException;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.enjoythecode.githubapiconsumer.exception.handler.ExceptionResponseBody;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.ratelimit.RequestPriority;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Looks up many users in one call. Usernames are deduplicated case-insensitively, at most
+ * {@code github.batch.concurrency} users are looked up at once and their branch calls share the global fan-out
+ * limiter, rate limiter and coalescer with every other request. Batch calls run at {@link RequestPriority#BULK}, so
+ * they are the first to wait when the GitHub budget runs low. Each user is emitted as soon as it completes, with a
+ * failure reported inline instead of failing the batch.
+ */
+@Service
+@RequiredArgsConstructor
+public class GithubBatchService {
+
+    private final GithubService githubService;
+
+    private final BatchProperties properties;
+
+    private final GithubLookupMetrics lookupMetrics;
+
+    public Flux<UserRepositoriesDto> getUsersNonForkRepositories(List<String> usernames) {
+        List<String> distinctUsernames = distinctUsernames(usernames);
+        Map<String, OwnerDto> owners = new ConcurrentHashMap<>();
+        return Flux.fromIterable(distinctUsernames)
+                .flatMap(username -> lookupMetrics.instrument(() -> githubService.getUserNonForkRepositories(username))
+                                .map(repo -> withSharedOwner(repo, owners))
+                                .collectList()
+                                .map(repositories -> new UserRepositoriesDto(username, repositories, null))
+                                .contextWrite(RequestPriority.bulk())
+                                .onErrorResume(e -> Mono.just(new UserRepositoriesDto(username, null, error(e)))),
+                        properties.concurrency());
+    }
+
+    /**
+     * Validates a batch and returns its usernames without case-insensitive duplicates, in request order.
+     *
+     * @throws InvalidBatchRequestException when the batch is empty, has a blank username or is too large
+     */
+    public List<String> distinctUsernames(List<String> usernames) {
+        if (usernames == null || usernames.isEmpty()) {
+            throw new InvalidBatchRequestException("At least one username is required");
+        }
+        Map<String, String> distinct = new LinkedHashMap<>();
+        for (String username : usernames) {
+            if (username == null || username.isBlank()) {
+                throw new InvalidBatchRequestException("Usernames must not be blank");
+            }
+            distinct.putIfAbsent(username.trim().toLowerCase(Locale.ROOT), username.trim());
+        }
+        if (distinct.size() > properties.maxUsernames()) {
+            throw new InvalidBatchRequestException(
+                    "At most " + properties.maxUsernames() + " usernames are allowed per batch");
+        }
+        return List.copyOf(distinct.values());
+    }
+
+    private static RepositoryDto withSharedOwner(RepositoryDto repo, Map<String, OwnerDto> owners) {
+        if (repo.ownerDto() == null || repo.ownerDto().login() == null) {
+            return repo;
+        }
+        OwnerDto owner = owners.computeIfAbsent(repo.ownerDto().login().toLowerCase(Locale.ROOT),
+                login -> repo.ownerDto());
+        return owner == repo.ownerDto() ? repo : repo.withOwner(owner);
+    }
+
+    private static ExceptionResponseBody error(Throwable e) {
+        if (e instanceof UserNotFoundException) {
+            return new ExceptionResponseBody(HttpStatus.NOT_FOUND.value(), e.getMessage());
+        }
+        if (e instanceof GithubUnavailableException) {
+            return new ExceptionResponseBody(HttpStatus.SERVICE_UNAVAILABLE.value(), e.getMessage());
+        }
+        if (e instanceof DeadlineExceededException) {
+            return new ExceptionResponseBody(HttpStatus.GATEWAY_TIMEOUT.value(), e.getMessage());
+        }
+        if (e instanceof WebClientResponseException responseException) {
+            return new ExceptionResponseBody(responseException.getStatusCode().value(), e.getMessage());
+        }
+        return new ExceptionResponseBody(HttpStatus.BAD_GATEWAY.value(), e.getMessage());
+    }
+
+}
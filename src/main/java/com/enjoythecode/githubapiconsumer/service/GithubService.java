@@ -1,30 +1,20 @@
 package com.enjoythecode.githubapiconsumer.service;
 
 import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
-import com.enjoythecode.githubapiconsumer.repository.GithubRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 
-@Service
-@RequiredArgsConstructor
-public class GithubService {
+public interface GithubService {
 
-    private final GithubRepository githubRepository;
+    Flux<RepositoryDto> getUserNonForkRepositories(String username);
 
-    public Flux<RepositoryDto> getUserNonForkRepositories(String username) {
-        return githubRepository.getUserRepositoriesByUsername(username)
-                .filter(repo -> !repo.fork())
-                .flatMap(repo ->
-                        githubRepository.getRepositoryBranches(username, repo.name())
-                                .collectList()
-                                .map(branches -> new RepositoryDto(
-                                        repo.ownerDto(),
-                                        repo.name(),
-                                        repo.fork(),
-                                        branches
-                                ))
-                );
-    }
+    /**
+     * Like {@link #getUserNonForkRepositories(String)}, but a repository whose branches fail or miss the lookup
+     * deadline is still emitted, with the branches of an earlier lookup or none, and every repository carries a
+     * {@link com.enjoythecode.githubapiconsumer.dto.RepositoryStatus}. Only a failed repository listing fails the
+     * lookup.
+     */
+    Flux<RepositoryDto> getUserNonForkRepositoriesWithPartialBranches(String username);
 
-}
\ No newline at end of file
+    Flux<RepositoryDto> getUserNonForkRepositoriesWithoutBranches(String username);
+
+}
@@ -0,0 +1,31 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.cache.BranchSnapshotCache;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+
+import java.util.List;
+import java.util.Optional;
+
+final class PartialResults {
+
+    private PartialResults() {
+    }
+
+    /**
+     * The repository with the branches of an earlier lookup, or none, in place of branches that could not be fetched.
+     */
+    static RepositoryDto degraded(String username, RepositoryDto repo, Throwable failure,
+                                  BranchSnapshotCache branchSnapshotCache, GithubLookupMetrics lookupMetrics) {
+        Optional<List<BranchDto>> last = branchSnapshotCache.getLast(username, repo.name());
+        RepositoryStatus status = last.isPresent() ? RepositoryStatus.STALE
+                : failure instanceof DeadlineExceededException ? RepositoryStatus.TIMED_OUT
+                : RepositoryStatus.FAILED;
+        lookupMetrics.recordDegraded(status);
+        return repo.withBranches(last.orElse(List.of()), status);
+    }
+
+}
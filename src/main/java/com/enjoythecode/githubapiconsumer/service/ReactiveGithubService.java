@@ -0,0 +1,125 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.cache.BranchSnapshotCache;
+import com.enjoythecode.githubapiconsumer.cache.MissingUserCache;
+import com.enjoythecode.githubapiconsumer.cache.RequestCoalescer;
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.repository.GithubRepository;
+import com.enjoythecode.githubapiconsumer.resilience.Deadline;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "github.execution", havingValue = "reactive", matchIfMissing = true)
+public class ReactiveGithubService implements GithubService {
+
+    private final GithubRepository githubRepository;
+
+    private final AdaptiveConcurrencyLimiter branchFetchLimiter;
+
+    private final RequestCoalescer requestCoalescer;
+
+    private final GithubLookupMetrics lookupMetrics;
+
+    private final BranchSnapshotCache branchSnapshotCache;
+
+    private final ResilienceProperties resilienceProperties;
+
+    private final MissingUserCache missingUserCache;
+
+    @Override
+    public Flux<RepositoryDto> getUserNonForkRepositories(String username) {
+        return missingUserCache.guard(username, () ->
+                requestCoalescer.coalesce(List.of("repos", normalize(username)), () -> lookup(username, false)));
+    }
+
+    @Override
+    public Flux<RepositoryDto> getUserNonForkRepositoriesWithPartialBranches(String username) {
+        return missingUserCache.guard(username, () ->
+                requestCoalescer.coalesce(List.of("repos-partial", normalize(username)), () -> lookup(username, true)));
+    }
+
+    @Override
+    public Flux<RepositoryDto> getUserNonForkRepositoriesWithoutBranches(String username) {
+        return missingUserCache.guard(username, () ->
+                requestCoalescer.coalesce(List.of("repo-names", normalize(username)), () -> {
+                    lookupMetrics.recordFanOut(0);
+                    return githubRepository.getUserRepositoriesByUsername(username)
+                            .filter(repo -> !repo.fork())
+                            .contextWrite(Deadline.within(resilienceProperties.deadline()));
+                }));
+    }
+
+    private Flux<RepositoryDto> lookup(String username, boolean partial) {
+        Flux<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername(username)
+                .filter(repo -> !repo.fork());
+        if (githubRepository.includesBranches()) {
+            repositories = partial
+                    ? repositories.map(repo -> repo.withBranches(repo.branches(), RepositoryStatus.COMPLETE))
+                    : repositories;
+        } else {
+            AtomicInteger branchCalls = new AtomicInteger();
+            repositories = repositories
+                    .flatMap(repo -> partial
+                                    ? withPartialBranches(username, repo, branchCalls)
+                                    : getRepositoryBranches(username, repo, branchCalls).map(repo::withBranches),
+                            branchFetchLimiter.getMaxConcurrency())
+                    .doOnComplete(() -> lookupMetrics.recordFanOut(branchCalls.get()));
+        }
+        return repositories.contextWrite(Deadline.within(resilienceProperties.deadline()));
+    }
+
+    /**
+     * Bounds the branch fetch by the lookup deadline, including time spent queued for the fan-out limiter, and
+     * degrades the repository instead of failing the lookup.
+     */
+    private Mono<RepositoryDto> withPartialBranches(String username, RepositoryDto repo, AtomicInteger branchCalls) {
+        return Mono.deferContextual(context -> {
+            Mono<List<BranchDto>> branches = getRepositoryBranches(username, repo, branchCalls);
+            Optional<Deadline> deadline = Deadline.from(context);
+            if (deadline.isPresent()) {
+                branches = branches.timeout(deadline.get().remaining(), Mono.error(() -> new DeadlineExceededException(
+                        "Deadline exceeded before the branches of '" + repo.name() + "' were fetched")));
+            }
+            return branches
+                    .map(fetched -> repo.withBranches(fetched, RepositoryStatus.COMPLETE))
+                    .onErrorResume(e -> Mono.just(
+                            PartialResults.degraded(username, repo, e, branchSnapshotCache, lookupMetrics)));
+        });
+    }
+
+    private Mono<List<BranchDto>> getRepositoryBranches(String username, RepositoryDto repo,
+                                                        AtomicInteger branchCalls) {
+        Optional<List<BranchDto>> unchanged = branchSnapshotCache.getUnchanged(username, repo.name(), repo.pushedAt());
+        if (unchanged.isPresent()) {
+            return Mono.just(unchanged.get());
+        }
+        return requestCoalescer.coalesce(List.of("branches", normalize(username), normalize(repo.name())), () -> {
+                    branchCalls.incrementAndGet();
+                    return branchFetchLimiter.submit(
+                                    githubRepository.getRepositoryBranches(username, repo.name()).collectList())
+                            .flatMapIterable(branches -> branches);
+                })
+                .collectList()
+                .doOnNext(branches -> branchSnapshotCache.put(username, repo.name(), repo.pushedAt(), branches));
+    }
+
+    private static String normalize(String name) {
+        return name.toLowerCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,203 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.cache.BranchSnapshotCache;
+import com.enjoythecode.githubapiconsumer.cache.MissingUserCache;
+import com.enjoythecode.githubapiconsumer.config.FanOutProperties;
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.repository.BlockingGithubRepository;
+import com.enjoythecode.githubapiconsumer.resilience.Deadline;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Imperative implementation: each lookup runs on its own virtual thread and fans the branch calls out to child
+ * virtual threads owned by a per-request executor scope. Children are awaited in completion order, so the first one
+ * to fail cancels the rest right away wherever it sits in the listing. Branch calls across all requests are bounded
+ * by {@code github.fan-out.max-concurrency}. Children still running when the lookup deadline
+ * ({@code github.resilience.deadline}) expires are interrupted; in partial-result mode a failed or interrupted child
+ * degrades its repository instead of failing the lookup.
+ */
+@Service
+@ConditionalOnProperty(name = "github.execution", havingValue = "virtual-threads")
+public class VirtualThreadGithubService implements GithubService, DisposableBean {
+
+    private final BlockingGithubRepository githubRepository;
+
+    private final Semaphore branchFetchPermits;
+
+    private final GithubLookupMetrics lookupMetrics;
+
+    private final BranchSnapshotCache branchSnapshotCache;
+
+    private final ResilienceProperties resilienceProperties;
+
+    private final MissingUserCache missingUserCache;
+
+    private final Scheduler scheduler = Schedulers.fromExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor(), "github-virtual");
+
+    public VirtualThreadGithubService(BlockingGithubRepository githubRepository, FanOutProperties fanOutProperties,
+                                      GithubLookupMetrics lookupMetrics, BranchSnapshotCache branchSnapshotCache,
+                                      ResilienceProperties resilienceProperties, MissingUserCache missingUserCache) {
+        this.githubRepository = githubRepository;
+        this.branchFetchPermits = new Semaphore(fanOutProperties.maxConcurrency(), true);
+        this.lookupMetrics = lookupMetrics;
+        this.branchSnapshotCache = branchSnapshotCache;
+        this.resilienceProperties = resilienceProperties;
+        this.missingUserCache = missingUserCache;
+    }
+
+    @Override
+    public Flux<RepositoryDto> getUserNonForkRepositories(String username) {
+        return missingUserCache.guard(username, () ->
+                Mono.fromCallable(() -> fetchUserNonForkRepositories(username, false))
+                        .subscribeOn(scheduler)
+                        .flatMapIterable(repositories -> repositories));
+    }
+
+    @Override
+    public Flux<RepositoryDto> getUserNonForkRepositoriesWithPartialBranches(String username) {
+        return missingUserCache.guard(username, () ->
+                Mono.fromCallable(() -> fetchUserNonForkRepositories(username, true))
+                        .subscribeOn(scheduler)
+                        .flatMapIterable(repositories -> repositories));
+    }
+
+    @Override
+    public Flux<RepositoryDto> getUserNonForkRepositoriesWithoutBranches(String username) {
+        return missingUserCache.guard(username, () -> Mono.fromCallable(() -> {
+                    lookupMetrics.recordFanOut(0);
+                    return githubRepository.getUserRepositoriesByUsername(username).stream()
+                            .filter(repo -> !repo.fork())
+                            .toList();
+                })
+                .subscribeOn(scheduler)
+                .flatMapIterable(repositories -> repositories));
+    }
+
+    List<RepositoryDto> fetchUserNonForkRepositories(String username, boolean partial) throws InterruptedException {
+        Deadline deadline = Deadline.after(resilienceProperties.deadline());
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername(username).stream()
+                .filter(repo -> !repo.fork())
+                .toList();
+        List<RepositoryDto> result = new ArrayList<>(repositories.size());
+        try (ExecutorService scope = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<RepositoryDto> completion = new ExecutorCompletionService<>(scope);
+            List<Future<RepositoryDto>> children = new ArrayList<>();
+            int branchCalls = 0;
+            for (RepositoryDto repo : repositories) {
+                Optional<List<BranchDto>> unchanged =
+                        branchSnapshotCache.getUnchanged(username, repo.name(), repo.pushedAt());
+                if (unchanged.isPresent()) {
+                    children.add(CompletableFuture.completedFuture(repo.withBranches(unchanged.get())));
+                } else {
+                    children.add(completion.submit(() -> withBranches(username, repo)));
+                    branchCalls++;
+                }
+            }
+            lookupMetrics.recordFanOut(branchCalls);
+            if (!partial) {
+                awaitInCompletionOrder(completion, branchCalls, scope, deadline);
+            }
+            for (int i = 0; i < children.size(); i++) {
+                result.add(partial
+                        ? joinPartially(username, repositories.get(i), children.get(i), deadline)
+                        : join(children.get(i), scope, deadline));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private RepositoryDto withBranches(String username, RepositoryDto repo) throws InterruptedException {
+        branchFetchPermits.acquire();
+        try {
+            List<BranchDto> branches = githubRepository.getRepositoryBranches(username, repo.name());
+            branchSnapshotCache.put(username, repo.name(), repo.pushedAt(), branches);
+            return repo.withBranches(branches);
+        } finally {
+            branchFetchPermits.release();
+        }
+    }
+
+    private RepositoryDto joinPartially(String username, RepositoryDto repo, Future<RepositoryDto> child,
+                                        Deadline deadline) throws InterruptedException {
+        try {
+            RepositoryDto fetched = child.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+            return fetched.withBranches(fetched.branches(), RepositoryStatus.COMPLETE);
+        } catch (TimeoutException e) {
+            child.cancel(true);
+            return PartialResults.degraded(username, repo, new DeadlineExceededException(
+                    "Deadline exceeded before the branches of '" + repo.name() + "' were fetched"),
+                    branchSnapshotCache, lookupMetrics);
+        } catch (ExecutionException e) {
+            return PartialResults.degraded(username, repo, e.getCause(), branchSnapshotCache, lookupMetrics);
+        }
+    }
+
+    private static void awaitInCompletionOrder(CompletionService<RepositoryDto> completion, int children,
+                                               ExecutorService scope, Deadline deadline) throws InterruptedException {
+        for (int i = 0; i < children; i++) {
+            Future<RepositoryDto> child;
+            try {
+                child = completion.poll(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                scope.shutdownNow();
+                throw e;
+            }
+            if (child == null) {
+                scope.shutdownNow();
+                throw new DeadlineExceededException("Deadline exceeded before GitHub returned every branch");
+            }
+            join(child, scope, deadline);
+        }
+    }
+
+    private static RepositoryDto join(Future<RepositoryDto> child, ExecutorService scope, Deadline deadline)
+            throws InterruptedException {
+        try {
+            return child.get(deadline.remaining().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            scope.shutdownNow();
+            throw new DeadlineExceededException("Deadline exceeded before GitHub returned every branch");
+        } catch (ExecutionException e) {
+            scope.shutdownNow();
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            scope.shutdownNow();
+            throw e;
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.enjoythecode.githubapiconsumer.warmup;
+
+import com.enjoythecode.githubapiconsumer.cache.GithubResponseCache;
+import com.enjoythecode.githubapiconsumer.config.RateLimitProperties;
+import com.enjoythecode.githubapiconsumer.config.WarmerProperties;
+import com.enjoythecode.githubapiconsumer.ratelimit.GithubRateLimiter;
+import com.enjoythecode.githubapiconsumer.ratelimit.RequestPriority;
+import com.enjoythecode.githubapiconsumer.service.GithubService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Refreshes the configured usernames and the most requested ones every {@code interval}, so their lookups are
+ * answered from the cache without a revalidation on the request path. Refreshes run one user at a time as bulk
+ * calls and revalidate every page that would turn stale before the next run. A run stops once it has used
+ * {@code budget-share} of the GitHub budget that was left when it started, and is skipped entirely below the rate
+ * limiter's low watermark. When that budget is not known yet, the first refresh doubles as a probe that finds it out.
+ * <p>
+ * The warmer only exists with reactive execution: the page cache and bulk priority it relies on live in the
+ * {@code WebClient} pipeline, which virtual-thread execution does not use.
+ */
+@Slf4j
+@Component
+@ConditionalOnExpression("${github.warmer.enabled:false} and '${github.execution:reactive}' == 'reactive'")
+public class CacheWarmer implements DisposableBean {
+
+    private final WarmerProperties properties;
+
+    private final RateLimitProperties rateLimitProperties;
+
+    private final HotUserTracker hotUserTracker;
+
+    private final GithubService githubService;
+
+    private final GithubRateLimiter rateLimiter;
+
+    private final Counter refreshed;
+
+    private final Counter failed;
+
+    private final Counter skipped;
+
+    private final Disposable schedule;
+
+    public CacheWarmer(WarmerProperties properties, RateLimitProperties rateLimitProperties,
+                       HotUserTracker hotUserTracker, GithubService githubService, GithubRateLimiter rateLimiter,
+                       MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.rateLimitProperties = rateLimitProperties;
+        this.hotUserTracker = hotUserTracker;
+        this.githubService = githubService;
+        this.rateLimiter = rateLimiter;
+        this.refreshed = refreshes(meterRegistry, "success");
+        this.failed = refreshes(meterRegistry, "failure");
+        this.skipped = refreshes(meterRegistry, "skipped");
+        this.schedule = Flux.interval(properties.interval(), properties.interval())
+                .onBackpressureDrop()
+                .concatMap(tick -> warm(), 1)
+                .subscribe();
+    }
+
+    @Override
+    public void destroy() {
+        schedule.dispose();
+    }
+
+    Mono<Void> warm() {
+        return Mono.defer(() -> {
+            List<String> usernames = usernames();
+            hotUserTracker.decay();
+            Budget budget = new Budget(rateLimiter.getRemaining());
+            return Flux.fromIterable(usernames)
+                    .concatMap(username -> {
+                        if (!budget.allows(rateLimiter.getRemaining())) {
+                            skipped.increment();
+                            return Mono.empty();
+                        }
+                        return refresh(username);
+                    })
+                    .then();
+        });
+    }
+
+    private Mono<Void> refresh(String username) {
+        return githubService.getUserNonForkRepositories(username)
+                .then()
+                .contextWrite(RequestPriority.bulk())
+                .contextWrite(GithubResponseCache.refreshAhead(properties.interval()))
+                .doOnSuccess(done -> refreshed.increment())
+                .onErrorResume(e -> {
+                    failed.increment();
+                    log.debug("Background refresh of '{}' failed: {}", username, e.toString());
+                    return Mono.empty();
+                });
+    }
+
+    private List<String> usernames() {
+        Map<String, String> usernames = new LinkedHashMap<>();
+        properties.usernames().forEach(username -> usernames.putIfAbsent(username.toLowerCase(Locale.ROOT), username));
+        hotUserTracker.top(properties.topUsers())
+                .forEach(username -> usernames.putIfAbsent(username.toLowerCase(Locale.ROOT), username));
+        return List.copyOf(usernames.values());
+    }
+
+    /**
+     * Tracks what a single run may still spend. When the remaining budget is unknown, because GitHub has not
+     * answered yet or its window has reset since, the first refresh is let through as a probe and the budget it
+     * reports becomes the run's starting point. A run that still knows nothing after the probe stops.
+     */
+    private final class Budget {
+
+        private double startRemaining;
+
+        private boolean probed;
+
+        private Budget(double startRemaining) {
+            this.startRemaining = startRemaining;
+        }
+
+        private boolean allows(double remaining) {
+            if (Double.isNaN(remaining)) {
+                boolean probe = !probed && Double.isNaN(startRemaining);
+                probed = true;
+                return probe;
+            }
+            if (Double.isNaN(startRemaining)) {
+                startRemaining = remaining;
+            }
+            return remaining > rateLimitProperties.lowWatermark()
+                    && startRemaining - remaining < startRemaining * properties.budgetShare();
+        }
+
+    }
+
+    private static Counter refreshes(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("github.warmer.refreshes")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+}
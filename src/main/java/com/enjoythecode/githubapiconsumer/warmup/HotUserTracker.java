@@ -0,0 +1,187 @@
+package com.enjoythecode.githubapiconsumer.warmup;
+
+import com.enjoythecode.githubapiconsumer.config.WarmerProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Space-Saving sketch of the most requested usernames. At most {@code tracked-users} counters are kept; a username
+ * that is not tracked takes over the smallest counter and inherits its count, so any username requested more often
+ * than {@code 1 / tracked-users} of all lookups is guaranteed to be tracked. Counts are halved by {@link #decay()}
+ * so the top users follow current traffic. Usernames are compared case-insensitively and reported with the spelling
+ * of their latest request, because cached pages are keyed by the request URI.
+ * <p>
+ * Counters are grouped into buckets of equal count kept in ascending order (the Stream-Summary layout), so
+ * recording a request and finding the smallest counter to take over both take constant time.
+ */
+@Component
+public class HotUserTracker {
+
+    private final boolean enabled;
+
+    private final int capacity;
+
+    private final Map<String, Counter> counters = new HashMap<>();
+
+    private Bucket smallest;
+
+    public HotUserTracker(WarmerProperties properties) {
+        this.enabled = properties.enabled();
+        this.capacity = properties.trackedUsers();
+    }
+
+    public void record(String username) {
+        if (!enabled) {
+            return;
+        }
+        String key = username.toLowerCase(Locale.ROOT);
+        synchronized (this) {
+            Counter counter = counters.get(key);
+            if (counter != null) {
+                counter.username = username;
+                move(counter, bucketAfter(counter.bucket, counter.bucket.count + 1));
+                return;
+            }
+            if (counters.size() < capacity) {
+                counter = new Counter(key, username);
+                counters.put(key, counter);
+                attach(counter, bucketAfter(null, 1));
+                return;
+            }
+            counter = smallest.first;
+            counters.remove(counter.key);
+            counter.key = key;
+            counter.username = username;
+            counters.put(key, counter);
+            move(counter, bucketAfter(counter.bucket, counter.bucket.count + 1));
+        }
+    }
+
+    public synchronized List<String> top(int limit) {
+        return counters.values().stream()
+                .sorted(Comparator.comparingLong((Counter counter) -> counter.bucket.count).reversed())
+                .limit(limit)
+                .map(counter -> counter.username)
+                .toList();
+    }
+
+    public synchronized void decay() {
+        List<Counter> decayed = counters.values().stream()
+                .filter(counter -> counter.bucket.count > 1)
+                .sorted(Comparator.comparingLong(counter -> counter.bucket.count))
+                .toList();
+        counters.clear();
+        smallest = null;
+        Bucket last = null;
+        for (Counter counter : decayed) {
+            long count = counter.bucket.count / 2;
+            counter.bucket = null;
+            counter.previous = null;
+            counter.next = null;
+            last = last != null && last.count == count ? last : bucketAfter(last, count);
+            attach(counter, last);
+            counters.put(counter.key, counter);
+        }
+    }
+
+    /**
+     * Bucket holding {@code count} right after {@code previous} (or at the head when {@code previous} is null),
+     * created when missing.
+     */
+    private Bucket bucketAfter(Bucket previous, long count) {
+        Bucket next = previous != null ? previous.next : smallest;
+        if (next != null && next.count == count) {
+            return next;
+        }
+        Bucket bucket = new Bucket(count);
+        bucket.previous = previous;
+        bucket.next = next;
+        if (next != null) {
+            next.previous = bucket;
+        }
+        if (previous != null) {
+            previous.next = bucket;
+        } else {
+            smallest = bucket;
+        }
+        return bucket;
+    }
+
+    private void move(Counter counter, Bucket target) {
+        detach(counter);
+        attach(counter, target);
+    }
+
+    private static void attach(Counter counter, Bucket bucket) {
+        counter.bucket = bucket;
+        counter.previous = null;
+        counter.next = bucket.first;
+        if (bucket.first != null) {
+            bucket.first.previous = counter;
+        }
+        bucket.first = counter;
+    }
+
+    private void detach(Counter counter) {
+        Bucket bucket = counter.bucket;
+        if (counter.previous != null) {
+            counter.previous.next = counter.next;
+        } else {
+            bucket.first = counter.next;
+        }
+        if (counter.next != null) {
+            counter.next.previous = counter.previous;
+        }
+        if (bucket.first == null) {
+            if (bucket.previous != null) {
+                bucket.previous.next = bucket.next;
+            } else {
+                smallest = bucket.next;
+            }
+            if (bucket.next != null) {
+                bucket.next.previous = bucket.previous;
+            }
+        }
+    }
+
+    private static final class Bucket {
+
+        private final long count;
+
+        private Bucket previous;
+
+        private Bucket next;
+
+        private Counter first;
+
+        private Bucket(long count) {
+            this.count = count;
+        }
+
+    }
+
+    private static final class Counter {
+
+        private String key;
+
+        private String username;
+
+        private Bucket bucket;
+
+        private Counter previous;
+
+        private Counter next;
+
+        private Counter(String key, String username) {
+            this.key = key;
+            this.username = username;
+        }
+
+    }
+
+}
@@ -0,0 +1,71 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionWebFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void shouldAnswerTooManyRequestsWithRetryAfterOnceClientExceedsItsRate() {
+        //given
+        AdmissionWebFilter filter = filter(ClientRateLimiterTest.properties(0.5, 1, Set.of("client-1")));
+        AtomicInteger handled = new AtomicInteger();
+        filter.filter(exchange("client-1"), exchange -> Mono.fromRunnable(handled::incrementAndGet)).block();
+        MockServerWebExchange rejected = exchange("client-1");
+
+        //when
+        filter.filter(rejected, exchange -> Mono.fromRunnable(handled::incrementAndGet)).block();
+
+        //then
+        assertEquals(1, handled.get());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.getResponse().getStatusCode());
+        assertEquals("2", rejected.getResponse().getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+        assertEquals("{\"status\":429,\"message\":\"Rate limit exceeded\"}",
+                rejected.getResponse().getBodyAsString().block());
+        assertEquals(1.0, meterRegistry.get("github.admission.rejected").tag("reason", "rate-limited").counter()
+                .count());
+    }
+
+    @Test
+    public void shouldNotLimitOtherClientsOrPathsOutsideApi() {
+        //given
+        AdmissionWebFilter filter = filter(ClientRateLimiterTest.properties(0.5, 1, Set.of("client-1", "client-2")));
+        AtomicInteger handled = new AtomicInteger();
+        filter.filter(exchange("client-1"), exchange -> Mono.fromRunnable(handled::incrementAndGet)).block();
+
+        //when
+        filter.filter(exchange("client-2"), exchange -> Mono.fromRunnable(handled::incrementAndGet)).block();
+        for (int i = 0; i < 5; i++) {
+            filter.filter(MockServerWebExchange.from(MockServerHttpRequest.get("/actuator/health")),
+                    exchange -> Mono.fromRunnable(handled::incrementAndGet)).block();
+        }
+
+        //then
+        assertEquals(7, handled.get());
+    }
+
+    private AdmissionWebFilter filter(AdmissionProperties properties) {
+        return new AdmissionWebFilter(properties, new ClientIdentifier(properties), new ClientRateLimiter(properties),
+                new ConcurrencyGate(properties, meterRegistry), new ObjectMapper(), meterRegistry);
+    }
+
+    private static MockServerWebExchange exchange(String apiKey) {
+        return MockServerWebExchange.from(MockServerHttpRequest.get("/api/github/users/test-user/repos")
+                .header("X-API-Key", apiKey));
+    }
+
+}
@@ -0,0 +1,64 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientIdentifierTest {
+
+    private final ClientIdentifier identifier = new ClientIdentifier(
+            ClientRateLimiterTest.properties(1, 1, Set.of("known-key")));
+
+    @Test
+    public void shouldIdentifyClientByConfiguredApiKeyOnly() {
+        //given
+        MockServerHttpRequest known = request("203.0.113.7").header("X-API-Key", "known-key").build();
+        MockServerHttpRequest invented = request("203.0.113.7").header("X-API-Key", "random-key").build();
+
+        //when
+        String knownClient = identifier.identify(known);
+        String inventedClient = identifier.identify(invented);
+
+        //then
+        assertEquals("key:known-key", knownClient);
+        assertEquals("ip:203.0.113.7", inventedClient);
+    }
+
+    @Test
+    public void shouldTakeRightmostUntrustedForwardedAddressBehindTrustedProxy() {
+        //given
+        MockServerHttpRequest request = request("10.0.0.5")
+                .header("X-Forwarded-For", "198.51.100.1, 203.0.113.7, 10.0.0.9")
+                .build();
+
+        //when
+        String client = identifier.identify(request);
+
+        //then
+        assertEquals("ip:203.0.113.7", client);
+    }
+
+    @Test
+    public void shouldIgnoreForwardedHeaderFromUntrustedPeer() {
+        //given
+        MockServerHttpRequest request = request("203.0.113.7")
+                .header("X-Forwarded-For", "198.51.100.1")
+                .build();
+
+        //when
+        String client = identifier.identify(request);
+
+        //then
+        assertEquals("ip:203.0.113.7", client);
+    }
+
+    private static MockServerHttpRequest.BaseBuilder<?> request(String remoteAddress) {
+        return MockServerHttpRequest.get("/api/github/users/test-user/repos")
+                .remoteAddress(new InetSocketAddress(remoteAddress, 40000));
+    }
+
+}
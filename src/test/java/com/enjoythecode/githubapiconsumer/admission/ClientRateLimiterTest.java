@@ -0,0 +1,86 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ClientRateLimiterTest {
+
+    @Test
+    public void shouldAdmitBurstAndThenAskClientToWait() {
+        //given
+        ClientRateLimiter limiter = new ClientRateLimiter(properties(1, 3));
+
+        //when
+        Duration first = limiter.tryAcquire("key:a");
+        Duration second = limiter.tryAcquire("key:a");
+        Duration third = limiter.tryAcquire("key:a");
+        Duration rejected = limiter.tryAcquire("key:a");
+
+        //then
+        assertEquals(Duration.ZERO, first);
+        assertEquals(Duration.ZERO, second);
+        assertEquals(Duration.ZERO, third);
+        assertTrue(rejected.compareTo(Duration.ZERO) > 0);
+        assertTrue(rejected.compareTo(Duration.ofSeconds(1)) <= 0);
+    }
+
+    @Test
+    public void shouldKeepChargedDebtAcrossIdleGapLongerThanBurstTolerance() throws InterruptedException {
+        //given
+        ClientRateLimiter limiter = new ClientRateLimiter(properties(100, 1));
+        limiter.tryAcquire("key:a");
+        limiter.charge("key:a", 300);
+
+        //when
+        Thread.sleep(1200);
+
+        //then
+        Duration wait = limiter.tryAcquire("key:a");
+        assertTrue(wait.compareTo(Duration.ofSeconds(1)) > 0);
+    }
+
+    @Test
+    public void shouldKeepSeparateBucketsPerClient() {
+        //given
+        ClientRateLimiter limiter = new ClientRateLimiter(properties(1, 1));
+        limiter.tryAcquire("ip:10.0.0.1");
+
+        //when
+        Duration sameClient = limiter.tryAcquire("ip:10.0.0.1");
+        Duration otherClient = limiter.tryAcquire("ip:10.0.0.2");
+
+        //then
+        assertFalse(sameClient.isZero());
+        assertTrue(otherClient.isZero());
+    }
+
+    @Test
+    public void shouldRefillAtConfiguredRate() throws InterruptedException {
+        //given
+        ClientRateLimiter limiter = new ClientRateLimiter(properties(100, 1));
+        limiter.tryAcquire("key:a");
+        assertFalse(limiter.tryAcquire("key:a").isZero());
+
+        //when
+        Thread.sleep(20);
+
+        //then
+        assertTrue(limiter.tryAcquire("key:a").isZero());
+    }
+
+    static AdmissionProperties properties(double requestsPerSecond, int burst) {
+        return properties(requestsPerSecond, burst, Set.of());
+    }
+
+    static AdmissionProperties properties(double requestsPerSecond, int burst, Set<String> apiKeys) {
+        return new AdmissionProperties(true, "X-API-Key", apiKeys, List.of("10.0.0.0/8"), requestsPerSecond, burst,
+                1000, 2, 1, Duration.ofMillis(200));
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.enjoythecode.githubapiconsumer.admission;
+
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import com.enjoythecode.githubapiconsumer.exception.AdmissionRejectedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConcurrencyGateTest {
+
+    @Test
+    public void shouldQueueBeyondLimitAndRejectWhenQueueIsFull() {
+        //given
+        ConcurrencyGate gate = new ConcurrencyGate(ClientRateLimiterTest.properties(1, 1), new SimpleMeterRegistry());
+        Sinks.One<String> first = Sinks.one();
+        Sinks.One<String> second = Sinks.one();
+        gate.submit(first.asMono()).subscribe();
+        gate.submit(second.asMono()).subscribe();
+        Mono<String> queued = gate.submit(Mono.just("queued")).cache();
+        queued.subscribe();
+
+        //when
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> gate.submit(Mono.just("rejected")).block());
+        first.tryEmitValue("done");
+
+        //then
+        assertEquals("Too many requests in progress", rejected.getMessage());
+        assertEquals("queued", queued.block(Duration.ofSeconds(1)));
+        assertEquals(1, gate.getInFlight());
+        assertEquals(0, gate.getQueueDepth());
+    }
+
+    @Test
+    public void shouldRejectRequestQueuedLongerThanTimeout() {
+        //given
+        ConcurrencyGate gate = new ConcurrencyGate(ClientRateLimiterTest.properties(1, 1), new SimpleMeterRegistry());
+        gate.submit(Mono.never()).subscribe();
+        gate.submit(Mono.never()).subscribe();
+
+        //when
+        AdmissionRejectedException rejected = assertThrows(AdmissionRejectedException.class,
+                () -> gate.submit(Mono.just("late")).block());
+
+        //then
+        assertEquals("Too many requests queued", rejected.getMessage());
+        assertEquals(Duration.ofMillis(200), rejected.getRetryAfter());
+        assertEquals(0, gate.getQueueDepth());
+        assertEquals(2, gate.getInFlight());
+    }
+
+    @Test
+    public void shouldStartLongQueueOfRequestsCompletingImmediatelyWithoutOverflowingStack() {
+        //given
+        ConcurrencyGate gate = new ConcurrencyGate(new AdmissionProperties(true, "X-API-Key", Set.of(), List.of(), 1, 1,
+                1000, 1, 100_000, Duration.ofMinutes(1)), new SimpleMeterRegistry());
+        Sinks.One<String> first = Sinks.one();
+        AtomicInteger completed = new AtomicInteger();
+        gate.submit(first.asMono()).subscribe();
+        for (int i = 0; i < 100_000; i++) {
+            gate.submit(Mono.just("cached")).subscribe(value -> completed.incrementAndGet());
+        }
+
+        //when
+        first.tryEmitValue("done");
+
+        //then
+        assertEquals(100_000, completed.get());
+        assertEquals(0, gate.getQueueDepth());
+        assertEquals(0, gate.getInFlight());
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    public void shouldContainEveryInsertedValue() {
+        //given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+
+        //when
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("missing-user-" + i);
+        }
+
+        //then
+        for (int i = 0; i < 10_000; i++) {
+            assertTrue(filter.mightContain("missing-user-" + i));
+        }
+        assertEquals(10_000, filter.size());
+    }
+
+    @Test
+    public void shouldKeepFalsePositiveRateNearConfiguredRate() {
+        //given
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) {
+            filter.put("missing-user-" + i);
+        }
+
+        //when
+        int falsePositives = 0;
+        for (int i = 0; i < 100_000; i++) {
+            if (filter.mightContain("existing-user-" + i)) {
+                falsePositives++;
+            }
+        }
+
+        //then
+        assertTrue(falsePositives < 2_000, falsePositives + " false positives in 100000 lookups");
+    }
+
+}
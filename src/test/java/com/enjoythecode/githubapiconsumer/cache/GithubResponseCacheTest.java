@@ -0,0 +1,95 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.SnapshotProperties;
+import com.enjoythecode.githubapiconsumer.repository.GithubPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubResponseCacheTest {
+
+    private static final SnapshotStore DISABLED_SNAPSHOT = new SnapshotStore(
+            new SnapshotProperties(false, null, null), new ObjectMapper(), Clock.systemUTC());
+
+    @Test
+    public void shouldReturnStoredPageAsFreshWithinFreshnessWindow() {
+        //given
+        GithubResponseCache cache = cache(
+                new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1)), new SimpleMeterRegistry());
+        CachedPage<String> cachedPage = new CachedPage<>("\"etag\"", new GithubPage<>(List.of("repo"), null),
+                System.nanoTime());
+
+        //when
+        cache.put("/users/test-user/repos", cachedPage);
+        Optional<CachedPage<String>> result = cache.<String>get("/users/test-user/repos").blockOptional();
+
+        //then
+        assertTrue(result.isPresent());
+        assertTrue(cache.isFresh(result.get()));
+        assertEquals(List.of("repo"), result.get().page().items());
+    }
+
+    @Test
+    public void shouldTreatPageAsStaleWithinRefreshAheadMargin() {
+        //given
+        GithubResponseCache cache = cache(
+                new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1)), new SimpleMeterRegistry());
+        CachedPage<String> cachedPage = new CachedPage<>("\"etag\"", new GithubPage<>(List.of("repo"), null),
+                System.nanoTime() - Duration.ofSeconds(30).toNanos());
+
+        //when
+        boolean fresh = cache.isFresh(cachedPage);
+        boolean freshForRefresh = cache.isFresh(cachedPage, GithubResponseCache.refreshAhead(Duration.ofSeconds(45)));
+
+        //then
+        assertTrue(fresh);
+        assertFalse(freshForRefresh);
+    }
+
+    @Test
+    public void shouldNotStorePagesWhenDisabled() {
+        //given
+        GithubResponseCache cache = cache(
+                new CacheProperties(false, 1000, Duration.ofMinutes(1), Duration.ofHours(1)),
+                new SimpleMeterRegistry());
+
+        //when
+        cache.put("/users/test-user/repos", new CachedPage<>("\"etag\"", new GithubPage<>(List.of(), null), 0));
+
+        //then
+        assertTrue(cache.get("/users/test-user/repos").blockOptional().isEmpty());
+    }
+
+    @Test
+    public void shouldCountHitsMissesAndRevalidations() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GithubResponseCache cache = cache(
+                new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1)), meterRegistry);
+
+        //when
+        cache.recordHit();
+        cache.recordHit();
+        cache.recordMiss();
+        cache.recordRevalidation();
+
+        //then
+        assertEquals(2.0, meterRegistry.get("github.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(1.0, meterRegistry.get("github.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1.0, meterRegistry.get("github.cache.requests").tag("result", "revalidated").counter().count());
+    }
+
+    private static GithubResponseCache cache(CacheProperties properties, SimpleMeterRegistry meterRegistry) {
+        return new GithubResponseCache(properties, new InProcessCacheBackend(properties, DISABLED_SNAPSHOT),
+                meterRegistry);
+    }
+
+}
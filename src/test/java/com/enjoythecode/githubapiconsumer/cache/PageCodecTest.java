@@ -0,0 +1,80 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.repository.GithubPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageCodecTest {
+
+    private final PageCodec codec = new PageCodec(Clock.systemUTC());
+
+    @Test
+    public void shouldRoundTripRepositoryPage() {
+        //given
+        OwnerDto owner = new OwnerDto("test-user");
+        GithubPage<RepositoryDto> page = new GithubPage<>(List.of(
+                new RepositoryDto(owner, "repo1", false, null, Instant.parse("2024-07-01T12:00:00Z")),
+                new RepositoryDto(owner, "repo2", true, List.of(new BranchDto("main", new CommitDto("not-hex")))),
+                new RepositoryDto(null, "repo3", false, List.of())),
+                URI.create("https://api.github.com/user/1/repos?page=2"));
+        long validatedAtNanos = System.nanoTime();
+
+        //when
+        CachedPage<?> decoded = codec.decode(codec.encode(new CachedPage<>("\"etag\"", page, validatedAtNanos)));
+
+        //then
+        assertEquals("\"etag\"", decoded.etag());
+        assertEquals(page, decoded.page());
+        assertTrue(Math.abs(decoded.validatedAtNanos() - validatedAtNanos) < 5_000_000);
+    }
+
+    @Test
+    public void shouldRoundTripBranchPageWithPackedShas() {
+        //given
+        GithubPage<BranchDto> page = new GithubPage<>(List.of(
+                new BranchDto("main", new CommitDto("0123456789abcdef0123456789abcdef01234567")),
+                new BranchDto("dev", null)), null);
+
+        //when
+        CachedPage<?> decoded = codec.decode(codec.encode(new CachedPage<>("W/\"etag\"", page, System.nanoTime())));
+
+        //then
+        assertEquals(page, decoded.page());
+    }
+
+    @Test
+    public void shouldBeSeveralTimesSmallerThanJson() throws Exception {
+        //given
+        List<RepositoryDto> repositories = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            List<BranchDto> branches = List.of(
+                    new BranchDto("main", new CommitDto("%040x".formatted(i))),
+                    new BranchDto("develop", new CommitDto("%040x".formatted(i + 1000))));
+            repositories.add(new RepositoryDto(new OwnerDto("test-user"), "repository-" + i, false, branches,
+                    Instant.parse("2024-07-01T12:00:00Z")));
+        }
+        CachedPage<RepositoryDto> cachedPage = new CachedPage<>("\"etag\"", new GithubPage<>(repositories, null), 0);
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        //when
+        int binary = codec.encode(cachedPage).length;
+        int json = objectMapper.writeValueAsBytes(repositories).length;
+
+        //then
+        assertTrue(binary * 3 < json, binary + " bytes against " + json + " bytes of JSON");
+    }
+
+}
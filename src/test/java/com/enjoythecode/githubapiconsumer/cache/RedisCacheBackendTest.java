@@ -0,0 +1,158 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.RedisCacheProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.repository.GithubPage;
+import com.github.fppt.jedismock.RedisServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RedisCacheBackendTest {
+
+    private static final String KEY = "/repos/test-user/repo1/branches?per_page=100";
+
+    private static final CacheProperties CACHE_PROPERTIES =
+            new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1));
+
+    private RedisServer server;
+
+    private String host;
+
+    private RedisCacheBackend first;
+
+    private RedisCacheBackend second;
+
+    @BeforeEach
+    public void setup() throws Exception {
+        server = RedisServer.newRedisServer().start();
+        host = server.getHost();
+        first = awaitConnected(backend(server.getBindPort()));
+        second = awaitConnected(backend(server.getBindPort()));
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        first.destroy();
+        second.destroy();
+        if (server.isRunning()) {
+            server.stop();
+        }
+    }
+
+    @Test
+    public void shouldShareStoredPagesBetweenReplicas() {
+        //given
+        CachedPage<BranchDto> page = page("\"etag-1\"", "sha-1");
+
+        //when
+        first.put(KEY, page);
+
+        //then
+        CachedPage<?> shared = awaitPage(second, "\"etag-1\"");
+        assertEquals(page.page(), shared.page());
+        assertEquals(1, awaitNearCached(second));
+    }
+
+    @Test
+    public void shouldInvalidateNearCacheOfOtherReplicasOnWrite() {
+        //given
+        first.put(KEY, page("\"etag-1\"", "sha-1"));
+        awaitPage(second, "\"etag-1\"");
+
+        //when
+        first.put(KEY, page("\"etag-2\"", "sha-2"));
+
+        //then
+        CachedPage<?> updated = awaitPage(second, "\"etag-2\"");
+        assertEquals("sha-2", ((BranchDto) updated.page().items().get(0)).commitDto().sha());
+    }
+
+    @Test
+    public void shouldTreatUnavailableServerAsMiss() throws Exception {
+        //given
+        server.stop();
+
+        //when
+        CachedPage<?> result = first.get(KEY).block(Duration.ofSeconds(5));
+
+        //then
+        assertNull(result);
+    }
+
+    @Test
+    public void shouldStartWhileServerIsDownAndConnectOnceItIsUp() throws Exception {
+        //given
+        int port = server.getBindPort();
+        server.stop();
+        RedisCacheBackend late = assertTimeoutPreemptively(Duration.ofSeconds(1), () -> backend(port));
+        CachedPage<?> whileDown = late.get(KEY).block(Duration.ofSeconds(5));
+
+        //when
+        server = RedisServer.newRedisServer(port).start();
+
+        //then
+        try {
+            assertNull(whileDown);
+            awaitConnected(late);
+            late.put(KEY, page("\"etag-1\"", "sha-1"));
+            assertEquals("\"etag-1\"", awaitPage(awaitConnected(backend(port)), "\"etag-1\"").etag());
+        } finally {
+            late.destroy();
+        }
+    }
+
+    private RedisCacheBackend backend(int port) {
+        RedisCacheProperties properties = new RedisCacheProperties(
+                "redis://" + host + ":" + port, Duration.ofSeconds(1), "test:", 1000);
+        return new RedisCacheBackend(CACHE_PROPERTIES, properties, Clock.systemUTC(), new SimpleMeterRegistry());
+    }
+
+    private static RedisCacheBackend awaitConnected(RedisCacheBackend backend) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!backend.isConnected() && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertTrue(backend.isConnected(), "Backend did not connect in time");
+        return backend;
+    }
+
+    private static CachedPage<BranchDto> page(String etag, String sha) {
+        return new CachedPage<>(etag, new GithubPage<>(List.of(new BranchDto("main", new CommitDto(sha))), null),
+                System.nanoTime());
+    }
+
+    /**
+     * The invalidation published by a write can reach a replica after it already read the new page, so the near copy
+     * may be dropped once before it sticks.
+     */
+    private static long awaitNearCached(RedisCacheBackend backend) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (backend.estimatedSize() == 0 && System.nanoTime() < deadline) {
+            backend.get(KEY).block(Duration.ofSeconds(1));
+        }
+        return backend.estimatedSize();
+    }
+
+    private static CachedPage<?> awaitPage(RedisCacheBackend backend, String etag) {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (System.nanoTime() < deadline) {
+            CachedPage<?> page = backend.get(KEY).block(Duration.ofSeconds(1));
+            if (page != null && page.etag().equals(etag)) {
+                return page;
+            }
+            Thread.onSpinWait();
+        }
+        return fail("Page with ETag " + etag + " was not visible in time");
+    }
+
+}
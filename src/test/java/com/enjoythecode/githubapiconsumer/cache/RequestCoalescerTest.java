@@ -0,0 +1,55 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    @Test
+    public void shouldSubscribeUpstreamOnceForConcurrentCallersWithSameKey() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RequestCoalescer coalescer = new RequestCoalescer(meterRegistry);
+        Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        AtomicInteger subscriptions = new AtomicInteger();
+        Flux<String> call = upstream.asFlux().doOnSubscribe(s -> subscriptions.incrementAndGet());
+
+        //when
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        coalescer.coalesce("key", () -> call).subscribe(first::add);
+        upstream.tryEmitNext("a");
+        coalescer.coalesce("key", () -> call).subscribe(second::add);
+        upstream.tryEmitNext("b");
+        upstream.tryEmitComplete();
+
+        //then
+        assertEquals(1, subscriptions.get());
+        assertEquals(List.of("a", "b"), first);
+        assertEquals(List.of("a", "b"), second);
+        assertEquals(1.0, meterRegistry.get("github.requests.coalesced").counter().count());
+    }
+
+    @Test
+    public void shouldStartNewUpstreamCallAfterPreviousOneCompleted() {
+        //given
+        RequestCoalescer coalescer = new RequestCoalescer(new SimpleMeterRegistry());
+        AtomicInteger calls = new AtomicInteger();
+
+        //when
+        coalescer.coalesce("key", () -> Flux.defer(() -> Flux.just(calls.incrementAndGet()))).blockLast();
+        Integer result = coalescer.coalesce("key", () -> Flux.defer(() -> Flux.just(calls.incrementAndGet()))).blockLast();
+
+        //then
+        assertEquals(2, result);
+    }
+
+}
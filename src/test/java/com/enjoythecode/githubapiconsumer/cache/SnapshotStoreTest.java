@@ -0,0 +1,175 @@
+package com.enjoythecode.githubapiconsumer.cache;
+
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.SnapshotProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.repository.GithubPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotStoreTest {
+
+    private static final Instant NOW = Instant.parse("2024-07-01T12:00:00Z");
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    public void shouldReloadLatestPagePerKeyAfterRestart() throws Exception {
+        //given
+        Path path = directory.resolve("snapshot.log");
+        SnapshotStore store = store(path, Clock.fixed(NOW, ZoneOffset.UTC));
+        store.load(0);
+        GithubPage<RepositoryDto> repositories = new GithubPage<>(List.of(
+                new RepositoryDto(new OwnerDto("test-user"), "repo1", false, null)), URI.create("/users/test-user/repos?page=2"));
+        GithubPage<BranchDto> branches = new GithubPage<>(List.of(new BranchDto("main", new CommitDto("sha-2"))), null);
+
+        //when
+        store.append("/users/test-user/repos", new CachedPage<>("\"etag-1\"", repositories, 0));
+        store.append("/repos/test-user/repo1/branches", new CachedPage<>("\"etag-2\"",
+                new GithubPage<>(List.of(new BranchDto("main", new CommitDto("sha-1"))), null), 0));
+        store.append("/repos/test-user/repo1/branches", new CachedPage<>("\"etag-3\"", branches, 0));
+        store.destroy();
+        Map<String, CachedPage<?>> loaded = store(path, Clock.fixed(NOW, ZoneOffset.UTC)).load(42);
+
+        //then
+        assertEquals(2, loaded.size());
+        CachedPage<?> repositoriesPage = loaded.get("/users/test-user/repos");
+        assertEquals("\"etag-1\"", repositoriesPage.etag());
+        assertEquals(42, repositoriesPage.validatedAtNanos());
+        assertEquals(repositories, repositoriesPage.page());
+        assertEquals("\"etag-3\"", loaded.get("/repos/test-user/repo1/branches").etag());
+        assertEquals(branches, loaded.get("/repos/test-user/repo1/branches").page());
+        assertEquals(2, Files.readAllLines(path).size());
+    }
+
+    @Test
+    public void shouldKeepForkFlagAndPushedAtOfRepositories() throws Exception {
+        //given
+        Path path = directory.resolve("snapshot.log");
+        SnapshotStore store = store(path, Clock.fixed(NOW, ZoneOffset.UTC));
+        store.load(0);
+        GithubPage<RepositoryDto> repositories = new GithubPage<>(List.of(
+                new RepositoryDto(new OwnerDto("test-user"), "repo1", true, null, NOW.minusSeconds(60))), null);
+
+        //when
+        store.append("/users/test-user/repos", new CachedPage<>("\"etag-1\"", repositories, 0));
+        store.destroy();
+        Map<String, CachedPage<?>> loaded = store(path, Clock.fixed(NOW, ZoneOffset.UTC)).load(0);
+
+        //then
+        assertEquals(repositories, loaded.get("/users/test-user/repos").page());
+    }
+
+    @Test
+    public void shouldCompactLogWhileRunning() throws Exception {
+        //given
+        Path path = directory.resolve("snapshot.log");
+        SnapshotStore store = store(path, Clock.fixed(NOW, ZoneOffset.UTC));
+        store.load(0);
+
+        //when
+        for (int i = 0; i < 1030; i++) {
+            store.append("/repos/test-user/repo1/branches", new CachedPage<>("\"etag-" + i + "\"",
+                    new GithubPage<>(List.of(new BranchDto("main", new CommitDto("sha-" + i))), null), 0));
+        }
+        store.destroy();
+
+        //then
+        assertEquals(7, Files.readAllLines(path).size());
+        assertEquals("\"etag-1029\"", store(path, Clock.fixed(NOW, ZoneOffset.UTC)).load(0)
+                .get("/repos/test-user/repo1/branches").etag());
+    }
+
+    @Test
+    public void shouldSkipExpiredAndUnreadableEntries() throws Exception {
+        //given
+        Path path = directory.resolve("snapshot.log");
+        SnapshotStore store = store(path, Clock.fixed(NOW.minus(Duration.ofDays(8)), ZoneOffset.UTC));
+        store.load(0);
+        store.append("/users/old-user/repos", new CachedPage<>("\"etag-1\"", new GithubPage<>(List.of(), null), 0));
+        store.destroy();
+        Files.writeString(path, "{\"key\": \"/users/broken", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        //when
+        Map<String, CachedPage<?>> loaded = store(path, Clock.fixed(NOW, ZoneOffset.UTC)).load(0);
+
+        //then
+        assertTrue(loaded.isEmpty());
+    }
+
+    @Test
+    public void shouldWarmResponseCacheWithStalePagesOnStartup() throws Exception {
+        //given
+        Path path = directory.resolve("snapshot.log");
+        CacheProperties cacheProperties = new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1));
+        SnapshotStore store = store(path, Clock.fixed(NOW, ZoneOffset.UTC));
+        GithubResponseCache cache = new GithubResponseCache(cacheProperties,
+                new InProcessCacheBackend(cacheProperties, store), new SimpleMeterRegistry());
+        cache.put("/users/test-user/repos", new CachedPage<>("\"etag-1\"", new GithubPage<>(List.of(
+                new RepositoryDto(new OwnerDto("test-user"), "repo1", false, null)), null), System.nanoTime()));
+        store.destroy();
+
+        //when
+        GithubResponseCache restarted = new GithubResponseCache(cacheProperties,
+                new InProcessCacheBackend(cacheProperties, store(path, Clock.fixed(NOW, ZoneOffset.UTC))),
+                new SimpleMeterRegistry());
+        Optional<CachedPage<RepositoryDto>> cached = restarted.<RepositoryDto>get("/users/test-user/repos")
+                .blockOptional();
+
+        //then
+        assertTrue(cached.isPresent());
+        assertEquals("\"etag-1\"", cached.get().etag());
+        assertEquals("repo1", cached.get().page().items().get(0).name());
+        assertFalse(restarted.isFresh(cached.get()));
+    }
+
+    @Test
+    public void shouldRefreshStoredAtWhenPageIsRevalidated() throws Exception {
+        //given
+        Path path = directory.resolve("snapshot.log");
+        CacheProperties cacheProperties = new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1));
+        SnapshotStore firstFetch = store(path, Clock.fixed(NOW.minus(Duration.ofDays(8)), ZoneOffset.UTC));
+        new InProcessCacheBackend(cacheProperties, firstFetch).put("/users/test-user/repos",
+                new CachedPage<>("\"etag-1\"", new GithubPage<>(List.of(), null), System.nanoTime()));
+        firstFetch.destroy();
+        SnapshotStore revalidation = store(path, Clock.fixed(NOW.minus(Duration.ofDays(2)), ZoneOffset.UTC));
+        GithubResponseCache cache = new GithubResponseCache(cacheProperties,
+                new InProcessCacheBackend(cacheProperties, revalidation), new SimpleMeterRegistry());
+
+        //when
+        CachedPage<?> cached = cache.get("/users/test-user/repos").block();
+        cache.put("/users/test-user/repos", cached.revalidated());
+        revalidation.destroy();
+        Map<String, CachedPage<?>> loaded = store(path, Clock.fixed(NOW, ZoneOffset.UTC)).load(0);
+
+        //then
+        assertTrue(loaded.containsKey("/users/test-user/repos"));
+        assertEquals("\"etag-1\"", loaded.get("/users/test-user/repos").etag());
+    }
+
+    private static SnapshotStore store(Path path, Clock clock) {
+        return new SnapshotStore(new SnapshotProperties(true, path, Duration.ofDays(7)), new ObjectMapper(), clock);
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.enjoythecode.githubapiconsumer.config;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.netty.handler.timeout.ReadTimeoutHandler;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubHttpClientFactoryTest {
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance().build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private GithubHttpClientFactory httpClientFactory;
+
+    @BeforeEach
+    public void setup() {
+        Metrics.addRegistry(meterRegistry);
+        httpClientFactory = new GithubHttpClientFactory(properties(true), new GithubApiProperties(wireMock.baseUrl(), null));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        httpClientFactory.destroy();
+        Metrics.removeRegistry(meterRegistry);
+    }
+
+    @Test
+    public void shouldNegotiateHttp2OnlyForHttpsBaseUrl() {
+        //given
+        GithubHttpClientFactory githubFactory = new GithubHttpClientFactory(properties(true),
+                new GithubApiProperties("https://api.github.com", null));
+        GithubHttpClientFactory disabledFactory = new GithubHttpClientFactory(properties(false),
+                new GithubApiProperties("https://api.github.com", null));
+
+        //when/then
+        assertTrue(githubFactory.useHttp2());
+        assertFalse(disabledFactory.useHttp2());
+        assertFalse(httpClientFactory.useHttp2());
+        githubFactory.destroy();
+        disabledFactory.destroy();
+    }
+
+    @Test
+    public void shouldRequestGzipAndPublishPoolMetrics() {
+        //given
+        wireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/users/test-user/repos"))
+                .withHeader("Accept-Encoding", WireMock.containing("gzip"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[]")));
+        WebClient webClient = WebClient.builder()
+                .baseUrl(wireMock.baseUrl())
+                .clientConnector(httpClientFactory.createConnector())
+                .build();
+
+        //when
+        String body = webClient.get().uri("/users/test-user/repos").retrieve().bodyToMono(String.class)
+                .block(Duration.ofSeconds(5));
+
+        //then
+        assertEquals("[]", body);
+        assertNotNull(meterRegistry.find("reactor.netty.connection.provider.active.connections")
+                .tag("name", GithubHttpClientFactory.POOL_NAME)
+                .gauge());
+    }
+
+    @Test
+    public void shouldRemoveReadTimeoutFromConnectionOnceExchangeCompletes() throws InterruptedException {
+        //given
+        wireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/users/test-user/repos"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("[]")));
+        List<Boolean> readTimeoutLeftOnConnection = new CopyOnWriteArrayList<>();
+        CountDownLatch exchangesCompleted = new CountDownLatch(2);
+        HttpClient httpClient = httpClientFactory.createHttpClient()
+                .doAfterResponseSuccess((response, connection) -> readTimeoutLeftOnConnection.add(
+                        connection.channel().pipeline().toMap().entrySet().stream()
+                                .filter(handler -> !handler.getKey().startsWith("reactor."))
+                                .anyMatch(handler -> handler.getValue() instanceof ReadTimeoutHandler)))
+                .doAfterResponseSuccess((response, connection) -> exchangesCompleted.countDown());
+
+        //when
+        for (int i = 0; i < 2; i++) {
+            httpClient.get().uri(wireMock.baseUrl() + "/users/test-user/repos")
+                    .responseContent().aggregate().asString()
+                    .block(Duration.ofSeconds(5));
+        }
+
+        //then
+        assertTrue(exchangesCompleted.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of(false, false), readTimeoutLeftOnConnection);
+    }
+
+    private static HttpClientProperties properties(boolean http2) {
+        return new HttpClientProperties(10, 100, Duration.ofSeconds(1), Duration.ofSeconds(30), Duration.ofMinutes(5),
+                Duration.ofSeconds(30), Duration.ofSeconds(1), Duration.ofSeconds(5), Duration.ofSeconds(5), http2, true);
+    }
+
+}
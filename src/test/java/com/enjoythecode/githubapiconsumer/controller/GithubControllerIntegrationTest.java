@@ -1,49 +1,55 @@
 package com.enjoythecode.githubapiconsumer.controller;
 
+import com.enjoythecode.githubapiconsumer.dto.BatchLookupRequestDto;
 import com.enjoythecode.githubapiconsumer.dto.BranchDto;
 import com.enjoythecode.githubapiconsumer.dto.CommitDto;
 import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
 import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
 import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
 import com.enjoythecode.githubapiconsumer.service.GithubService;
 import org.junit.jupiter.api.BeforeEach;
-import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.ApplicationContext;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
-import org.springframework.test.web.servlet.MockMvc;
-import org.springframework.test.web.servlet.MvcResult;
-import org.springframework.test.web.servlet.setup.MockMvcBuilders;
-import org.springframework.web.context.WebApplicationContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
-import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
+@AutoConfigureObservability
 public class GithubControllerIntegrationTest {
 
     @Autowired
-    private WebApplicationContext webApplicationContext;
+    private ApplicationContext applicationContext;
 
     @MockBean
     private GithubService githubService;
 
-    private MockMvc mockMvc;
+    private WebTestClient webTestClient;
 
     @BeforeEach
     public void setup() {
-        mockMvc = MockMvcBuilders.webAppContextSetup(webApplicationContext).build();
+        webTestClient = WebTestClient.bindToApplicationContext(applicationContext).build();
     }
 
-    @Disabled("Temporarily ignoring test")
     @Test
-    public void shouldReturnRepositoriesWhenServiceReturnsRepositories() throws Exception {
+    public void shouldReturnRepositoriesWhenServiceReturnsRepositories() {
         //given
         String username = "test-user";
         List<RepositoryDto> mockRepositories = List.of(
@@ -60,47 +66,266 @@ public class GithubControllerIntegrationTest {
         when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.fromIterable(mockRepositories));
 
         //when/then
-        MvcResult result = mockMvc.perform(get("/api/github/users/" + username + "/repos")
-                        .accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
-                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andReturn();
-
-        String content = result.getResponse().getContentAsString();
-        System.out.println("Response content: " + content); // Dodaj to, aby zobaczyć zawartość odpowiedzi
-
-        mockMvc.perform(get("/api/github/users/" + username + "/repos")
-                        .accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isOk())
-                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$[0].name").value("repo1"))
-                .andExpect(jsonPath("$[0].owner.login").value("test-user"))
-                .andExpect(jsonPath("$[0].branches[0].name").value("branch1"))
-                .andExpect(jsonPath("$[0].branches[0].commit.sha").value("test-sha-1"))
-                .andExpect(jsonPath("$[0].branches[1].name").value("branch2"))
-                .andExpect(jsonPath("$[0].branches[1].commit.sha").value("test-sha-2"))
-                .andExpect(jsonPath("$[0].branches[2].name").value("branch3"))
-                .andExpect(jsonPath("$[0].branches[2].commit.sha").value("test-sha-3"))
-                .andExpect(jsonPath("$[1].name").value("repo2"))
-                .andExpect(jsonPath("$[1].owner.login").value("test-user"))
-                .andExpect(jsonPath("$[1].branches[0].name").value("branch1"))
-                .andExpect(jsonPath("$[1].branches[0].commit.sha").value("test-sha-4"));
+        webTestClient.get().uri("/api/github/users/" + username + "/repos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("repo1")
+                .jsonPath("$[0].owner.login").isEqualTo("test-user")
+                .jsonPath("$[0].fork").doesNotExist()
+                .jsonPath("$[0].branches[0].name").isEqualTo("branch1")
+                .jsonPath("$[0].branches[0].commit.sha").isEqualTo("test-sha-1")
+                .jsonPath("$[0].branches[1].name").isEqualTo("branch2")
+                .jsonPath("$[0].branches[1].commit.sha").isEqualTo("test-sha-2")
+                .jsonPath("$[0].branches[2].name").isEqualTo("branch3")
+                .jsonPath("$[0].branches[2].commit.sha").isEqualTo("test-sha-3")
+                .jsonPath("$[1].name").isEqualTo("repo2")
+                .jsonPath("$[1].owner.login").isEqualTo("test-user")
+                .jsonPath("$[1].branches[0].name").isEqualTo("branch1")
+                .jsonPath("$[1].branches[0].commit.sha").isEqualTo("test-sha-4");
     }
 
     @Test
-    public void shouldReturnNotFoundWhenUserDoesNotExist() throws Exception {
+    public void shouldStreamRepositoriesAsNdjsonWhenRequested() {
+        //given
+        String username = "test-user";
+        List<RepositoryDto> mockRepositories = List.of(
+                new RepositoryDto(new OwnerDto(username), "repo1", false, List.of(
+                        new BranchDto("branch1", new CommitDto("test-sha-1"))
+                )),
+                new RepositoryDto(new OwnerDto(username), "repo2", false, List.of())
+        );
+
+        when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.fromIterable(mockRepositories));
+
+        //when
+        String content = webTestClient.get().uri("/api/github/users/" + username + "/repos")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        //then
+        String[] lines = content.trim().split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"name\":\"repo1\""));
+        assertTrue(lines[0].contains("\"sha\":\"test-sha-1\""));
+        assertTrue(lines[1].contains("\"name\":\"repo2\""));
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenUserDoesNotExist() {
         //given
         String username = "nonexistent-user";
         when(githubService.getUserNonForkRepositories(username))
                 .thenThrow(new UserNotFoundException("User 'nonexistent-user' not found"));
 
         //when/then
-        mockMvc.perform(get("/api/github/users/" + username + "/repos")
-                        .accept(MediaType.APPLICATION_JSON))
-                .andExpect(status().isNotFound())
-                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
-                .andExpect(jsonPath("$.status").value(404))
-                .andExpect(jsonPath("$.message").value("User 'nonexistent-user' not found"));
+        webTestClient.get().uri("/api/github/users/" + username + "/repos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("User 'nonexistent-user' not found");
+    }
+
+    @Test
+    public void shouldReturnNotFoundWhenUserNotFoundIsSignalledByTheStream() {
+        //given
+        String username = "nonexistent-user";
+        when(githubService.getUserNonForkRepositories(username))
+                .thenReturn(Flux.error(new UserNotFoundException("User 'nonexistent-user' not found")));
+
+        //when/then
+        webTestClient.get().uri("/api/github/users/" + username + "/repos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(404)
+                .jsonPath("$.message").isEqualTo("User 'nonexistent-user' not found");
+    }
+
+    @Test
+    public void shouldExposeLookupMetricsToPrometheusWithoutUsernames() {
+        //given
+        String username = "metrics-user";
+        when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.empty());
+        webTestClient.get().uri("/api/github/users/" + username + "/repos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk();
+
+        //when
+        String scrape = webTestClient.get().uri("/actuator/prometheus")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        //then
+        assertTrue(scrape.contains("github_lookup_duration_seconds_count{outcome=\"SUCCESS\""));
+        assertTrue(scrape.contains("github_lookup_in_flight"));
+        assertFalse(scrape.contains(username));
+    }
+
+    @Test
+    public void shouldStreamBatchResultsPerUserWithInlineErrors() {
+        //given
+        RepositoryDto repo = new RepositoryDto(new OwnerDto("test-user"), "repo1", false, List.of(
+                new BranchDto("branch1", new CommitDto("test-sha-1"))
+        ));
+        when(githubService.getUserNonForkRepositories("test-user")).thenReturn(Flux.just(repo));
+        when(githubService.getUserNonForkRepositories("nonexistent-user"))
+                .thenReturn(Flux.error(new UserNotFoundException("User 'nonexistent-user' not found")));
+
+        //when
+        String content = webTestClient.post().uri("/api/github/users/repos:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(new BatchLookupRequestDto(List.of("test-user", "nonexistent-user", "TEST-USER")))
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBody(String.class)
+                .returnResult()
+                .getResponseBody();
+
+        //then
+        List<String> lines = List.of(content.trim().split("\n"));
+        assertEquals(2, lines.size());
+        String found = lines.stream().filter(line -> line.contains("\"username\":\"test-user\"")).findFirst()
+                .orElseThrow();
+        String missing = lines.stream().filter(line -> line.contains("\"username\":\"nonexistent-user\"")).findFirst()
+                .orElseThrow();
+        assertTrue(found.contains("\"name\":\"repo1\""));
+        assertFalse(found.contains("\"error\""));
+        assertTrue(missing.contains("\"status\":404"));
+        assertTrue(missing.contains("User 'nonexistent-user' not found"));
+        assertFalse(missing.contains("\"repositories\""));
+    }
+
+    @Test
+    public void shouldRejectEmptyBatch() {
+        //when/then
+        webTestClient.post().uri("/api/github/users/repos:batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_JSON)
+                .bodyValue(new BatchLookupRequestDto(List.of()))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("At least one username is required");
+    }
+
+    @Test
+    public void shouldOnlyListRepositoriesWhenBranchesAreNotRequested() {
+        //given
+        String username = "test-user";
+        when(githubService.getUserNonForkRepositoriesWithoutBranches(username)).thenReturn(Flux.just(
+                new RepositoryDto(new OwnerDto(username), "repo1", false, null)
+        ));
+
+        //when/then
+        webTestClient.get().uri("/api/github/users/" + username + "/repos?fields=name,owner")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("repo1")
+                .jsonPath("$[0].owner.login").isEqualTo("test-user")
+                .jsonPath("$[0].branches").doesNotExist();
+        verify(githubService, never()).getUserNonForkRepositories(username);
+    }
+
+    @Test
+    public void shouldOmitFieldsThatAreNotRequested() {
+        //given
+        String username = "test-user";
+        when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.just(
+                new RepositoryDto(new OwnerDto(username), "repo1", false, List.of(
+                        new BranchDto("branch1", new CommitDto("test-sha-1"))
+                ))
+        ));
+
+        //when/then
+        webTestClient.get().uri("/api/github/users/" + username + "/repos?fields=name,branches")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("repo1")
+                .jsonPath("$.branches[0].commit.sha").isEqualTo("test-sha-1")
+                .jsonPath("$.owner").doesNotExist();
+    }
+
+    @Test
+    public void shouldRejectUnknownFields() {
+        //when/then
+        webTestClient.get().uri("/api/github/users/test-user/repos?fields=name,stars")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.status").isEqualTo(400)
+                .jsonPath("$.message").isEqualTo("Unknown field 'stars', supported fields are owner, name, branches");
+    }
+
+    @Test
+    public void shouldMarkRepositoryStatusInPartialMode() {
+        //given
+        String username = "test-user";
+        when(githubService.getUserNonForkRepositoriesWithPartialBranches(username)).thenReturn(Flux.just(
+                new RepositoryDto(new OwnerDto(username), "repo1", false, List.of(), null, RepositoryStatus.TIMED_OUT)
+        ));
+
+        //when/then
+        webTestClient.get().uri("/api/github/users/" + username + "/repos?partial=true")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].name").isEqualTo("repo1")
+                .jsonPath("$[0].status").isEqualTo("TIMED_OUT")
+                .jsonPath("$[0].branches").isEmpty();
+        verify(githubService, never()).getUserNonForkRepositories(username);
+    }
+
+    @Test
+    public void shouldAnswerMatchingIfNoneMatchWithNotModifiedFromRenderedBody() {
+        //given
+        String username = "etag-user";
+        when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.just(
+                new RepositoryDto(new OwnerDto(username), "repo1", false, List.of())
+        ));
+        String etag = webTestClient.get().uri("/api/github/users/" + username + "/repos")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .returnResult(String.class)
+                .getResponseHeaders()
+                .getETag();
+
+        //when/then
+        assertNotNull(etag);
+        webTestClient.get().uri("/api/github/users/" + username + "/repos")
+                .accept(MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.IF_NONE_MATCH, etag)
+                .exchange()
+                .expectStatus().isNotModified()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, etag)
+                .expectBody().isEmpty();
+        verify(githubService, times(1)).getUserNonForkRepositories(username);
     }
 
-}
\ No newline at end of file
+}
@@ -1,20 +1,47 @@
 package com.enjoythecode.githubapiconsumer.controller;
 
+import com.enjoythecode.githubapiconsumer.admission.AdmissionWebFilter;
+import com.enjoythecode.githubapiconsumer.admission.ClientRateLimiter;
+import com.enjoythecode.githubapiconsumer.cache.ResponseBodyCache;
+import com.enjoythecode.githubapiconsumer.config.AdmissionProperties;
+import com.enjoythecode.githubapiconsumer.config.BatchProperties;
+import com.enjoythecode.githubapiconsumer.config.BodyCacheProperties;
+import com.enjoythecode.githubapiconsumer.config.WarmerProperties;
+import com.enjoythecode.githubapiconsumer.dto.BatchLookupRequestDto;
 import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
 import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.exception.InvalidBatchRequestException;
 import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.service.GithubBatchService;
 import com.enjoythecode.githubapiconsumer.service.GithubService;
+import com.enjoythecode.githubapiconsumer.warmup.HotUserTracker;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.util.unit.DataSize;
 import reactor.core.publisher.Flux;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
 import java.util.List;
+import java.util.Set;
+import java.util.zip.GZIPInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @SpringBootTest
@@ -23,9 +50,28 @@ class GithubControllerTest {
     @Mock
     private GithubService githubService;
 
-    @InjectMocks
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ClientRateLimiter clientRateLimiter = new ClientRateLimiter(new AdmissionProperties(true, "X-API-Key",
+            Set.of(), List.of(), 1, 2, 1000, 256, 512, Duration.ofSeconds(1)));
+
+    private final HotUserTracker hotUserTracker = new HotUserTracker(
+            new WarmerProperties(true, Duration.ofSeconds(45), List.of(), 20, 200, 0.1));
+
     private GithubController githubController;
 
+    @BeforeEach
+    public void setup() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GithubLookupMetrics lookupMetrics = new GithubLookupMetrics(meterRegistry);
+        githubController = new GithubController(githubService, lookupMetrics,
+                new GithubBatchService(githubService, new BatchProperties(500, 8), lookupMetrics),
+                hotUserTracker,
+                new ResponseBodyCache(new BodyCacheProperties(true, DataSize.ofMegabytes(1), Duration.ofSeconds(30),
+                        DataSize.ofBytes(0)), objectMapper, meterRegistry),
+                clientRateLimiter);
+    }
+
     @Test
     public void shouldReturnRepositoriesWhenServiceReturnsData() {
         //given
@@ -36,14 +82,14 @@ class GithubControllerTest {
         when(githubService.getUserNonForkRepositories(username)).thenReturn(repositoriesFlux);
 
         //when
-        ResponseEntity<Flux<RepositoryDto>> response = githubController.getUserNonForkRepositories(username);
+        ResponseEntity<DataBuffer> response = githubController.getUserNonForkRepositories(username, null, false, null)
+                .block();
 
         //then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        List<RepositoryDto> repositories = response.getBody().collectList().block();
-        assertNotNull(repositories);
+        List<RepositoryDto> repositories = repositories(response.getBody().asInputStream());
         assertEquals(1, repositories.size());
         assertEquals(repo.name(), repositories.get(0).name());
     }
@@ -57,17 +103,50 @@ class GithubControllerTest {
         when(githubService.getUserNonForkRepositories(username)).thenReturn(emptyFlux);
 
         //when
-        ResponseEntity<Flux<RepositoryDto>> response = githubController.getUserNonForkRepositories(username);
+        ResponseEntity<DataBuffer> response = githubController.getUserNonForkRepositories(username, null, false, null)
+                .block();
 
         //then
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertNotNull(response.getBody());
 
-        List<RepositoryDto> repositories = response.getBody().collectList().block();
-        assertNotNull(repositories);
+        List<RepositoryDto> repositories = repositories(response.getBody().asInputStream());
         assertTrue(repositories.isEmpty());
     }
 
+    @Test
+    public void shouldStreamRepositoriesFromService() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo", false, List.of());
+
+        when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.just(repo));
+
+        //when
+        List<RepositoryDto> repositories = githubController.streamUserNonForkRepositories(username, null, false).collectList().block();
+
+        //then
+        assertEquals(List.of(repo), repositories);
+    }
+
+    @Test
+    public void shouldTrackOnlyUsersWhoseLookupSucceeded() {
+        //given
+        when(githubService.getUserNonForkRepositories("test-user")).thenReturn(Flux.empty());
+        when(githubService.getUserNonForkRepositories("nonexistent-user"))
+                .thenReturn(Flux.error(new UserNotFoundException("User 'nonexistent-user' not found")));
+
+        //when
+        githubController.getUserNonForkRepositories("test-user", null, false, null).block();
+        assertThrows(UserNotFoundException.class,
+                () -> githubController.getUserNonForkRepositories("nonexistent-user", null, false, null).block());
+        assertThrows(UserNotFoundException.class, () -> githubController
+                .streamUserNonForkRepositories("nonexistent-user", null, false).collectList().block());
+
+        //then
+        assertEquals(List.of("test-user"), hotUserTracker.top(5));
+    }
+
     @Test
     public void shouldHandleUserNotFoundException() {
         //given
@@ -78,11 +157,107 @@ class GithubControllerTest {
 
         //when
         UserNotFoundException thrown = assertThrows(UserNotFoundException.class, () ->
-                githubController.getUserNonForkRepositories(username).getBody().collectList().block()
+                githubController.getUserNonForkRepositories(username, null, false, null).block()
         );
 
         //then
         assertEquals("User 'nonexistent-user' not found", thrown.getMessage());
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldServeRepeatedLookupFromRenderedBodyWithStableETag() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo", false, List.of());
+
+        when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.just(repo));
+
+        //when
+        ResponseEntity<DataBuffer> first = githubController.getUserNonForkRepositories(username, null, false, null)
+                .block();
+        ResponseEntity<DataBuffer> second = githubController.getUserNonForkRepositories("Test-User", null, false, null)
+                .block();
+
+        //then
+        verify(githubService, times(1)).getUserNonForkRepositories(username);
+        assertNotNull(first.getHeaders().getETag());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertEquals(List.of(repo.name()), repositories(second.getBody().asInputStream()).stream()
+                .map(RepositoryDto::name).toList());
+    }
+
+    @Test
+    public void shouldServePrecompressedBodyWhenGzipIsAccepted() throws IOException {
+        //given
+        String username = "test-user";
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo", false, List.of());
+
+        when(githubService.getUserNonForkRepositories(username)).thenReturn(Flux.just(repo));
+
+        //when
+        ResponseEntity<DataBuffer> identity = githubController.getUserNonForkRepositories(username, null, false, null)
+                .block();
+        ResponseEntity<DataBuffer> gzip = githubController.getUserNonForkRepositories(username, null, false,
+                "br;q=1.0, gzip;q=0.8").block();
+
+        //then
+        assertNull(identity.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals("gzip", gzip.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+        assertEquals(List.of(HttpHeaders.ACCEPT_ENCODING), gzip.getHeaders().getVary());
+        assertNotEquals(identity.getHeaders().getETag(), gzip.getHeaders().getETag());
+        assertEquals(List.of(repo.name()), repositories(new GZIPInputStream(gzip.getBody().asInputStream())).stream()
+                .map(RepositoryDto::name).toList());
+    }
+
+    @Test
+    public void shouldChargeBatchToClientPerUsername() {
+        //given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/github/users/repos:batch"));
+        exchange.getAttributes().put(AdmissionWebFilter.CLIENT_ATTRIBUTE, "ip:10.0.0.1");
+        assertTrue(clientRateLimiter.tryAcquire("ip:10.0.0.1").isZero());
+        when(githubService.getUserNonForkRepositories("first-user")).thenReturn(Flux.empty());
+        when(githubService.getUserNonForkRepositories("second-user")).thenReturn(Flux.empty());
+
+        //when
+        githubController.getUsersNonForkRepositories(new BatchLookupRequestDto(List.of("first-user", "second-user")),
+                exchange).blockLast();
+
+        //then
+        assertFalse(clientRateLimiter.tryAcquire("ip:10.0.0.1").isZero());
+        assertTrue(clientRateLimiter.tryAcquire("ip:10.0.0.2").isZero());
+    }
+
+    @Test
+    public void shouldChargeOnlyDistinctUsernamesOfValidBatch() {
+        //given
+        MockServerWebExchange invalid = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/github/users/repos:batch"));
+        invalid.getAttributes().put(AdmissionWebFilter.CLIENT_ATTRIBUTE, "ip:10.0.0.1");
+        MockServerWebExchange duplicates = MockServerWebExchange.from(
+                MockServerHttpRequest.post("/api/github/users/repos:batch"));
+        duplicates.getAttributes().put(AdmissionWebFilter.CLIENT_ATTRIBUTE, "ip:10.0.0.2");
+        assertTrue(clientRateLimiter.tryAcquire("ip:10.0.0.1").isZero());
+        assertTrue(clientRateLimiter.tryAcquire("ip:10.0.0.2").isZero());
+        when(githubService.getUserNonForkRepositories("first-user")).thenReturn(Flux.empty());
+
+        //when
+        assertThrows(InvalidBatchRequestException.class, () -> githubController.getUsersNonForkRepositories(
+                new BatchLookupRequestDto(List.of("first-user", "second-user", " ")), invalid));
+        githubController.getUsersNonForkRepositories(
+                new BatchLookupRequestDto(List.of("first-user", "First-User", " first-user ")), duplicates).blockLast();
+
+        //then
+        assertTrue(clientRateLimiter.tryAcquire("ip:10.0.0.1").isZero());
+        assertTrue(clientRateLimiter.tryAcquire("ip:10.0.0.2").isZero());
+    }
+
+    private List<RepositoryDto> repositories(InputStream body) {
+        try (body) {
+            return objectMapper.readValue(body, new TypeReference<>() { });
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+}
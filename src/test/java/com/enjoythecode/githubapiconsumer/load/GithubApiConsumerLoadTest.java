@@ -0,0 +1,114 @@
+package com.enjoythecode.githubapiconsumer.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Fires many concurrent lookups at the Netty server while {@link SyntheticGithub} is slow. Every user has a fork
+ * and a repository with branches, so each lookup makes two sequential GitHub calls. Outbound limits and the lookup
+ * deadline are raised so the application's own throttling does not shape the run. The test checks that every lookup
+ * is served on a small fixed set of event-loop threads while far more GitHub calls than threads were in flight at
+ * once, which a thread-per-request server cannot do. Elapsed time and throughput depend on the machine and are only
+ * logged.
+ * Run with {@code mvn test -Pload-test}.
+ */
+@Slf4j
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"github.cache.enabled=false", "github.admission.enabled=false",
+                "github.http.max-connections=1000", "github.fan-out.adaptive=false",
+                "github.fan-out.initial-concurrency=1000", "github.fan-out.max-concurrency=1000",
+                "github.resilience.deadline=1m"})
+class GithubApiConsumerLoadTest {
+
+    private static final int CONCURRENT_REQUESTS = 1000;
+
+    private static final int UPSTREAM_LATENCY_MILLIS = 500;
+
+    private static final int CALLS_PER_LOOKUP = 2;
+
+    /**
+     * Spring Boot runs the WebFlux server on its own event loops; {@code reactor-http-*} threads belong to the
+     * WebClient and to the stand-in.
+     */
+    private static final String SERVER_THREAD_PREFIX = "webflux-http-";
+
+    private static final SyntheticGithub GITHUB = SyntheticGithub.start(new SyntheticGithub.Options(2, 2, 2,
+            Duration.ofMillis(UPSTREAM_LATENCY_MILLIS), 0, Long.MAX_VALUE, Duration.ofHours(1), 42));
+
+    @LocalServerPort
+    private int port;
+
+    @DynamicPropertySource
+    static void githubProperties(DynamicPropertyRegistry registry) {
+        registry.add("github.api.base-url", GITHUB::baseUrl);
+    }
+
+    @AfterAll
+    static void stopGithub() {
+        GITHUB.close();
+    }
+
+    @Test
+    public void shouldServeConcurrentRequestsOnFixedEventLoopThreads() {
+        //given
+        WebClient client = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .clientConnector(new ReactorClientHttpConnector(HttpClient.create(
+                        ConnectionProvider.builder("load-test")
+                                .maxConnections(CONCURRENT_REQUESTS)
+                                .pendingAcquireMaxCount(-1)
+                                .build())))
+                .build();
+
+        //when
+        long start = System.nanoTime();
+        List<String> bodies = Flux.range(0, CONCURRENT_REQUESTS)
+                .flatMap(i -> client.get().uri("/api/github/users/load-user-{i}/repos", i)
+                                .accept(MediaType.APPLICATION_JSON)
+                                .retrieve()
+                                .bodyToMono(String.class),
+                        CONCURRENT_REQUESTS)
+                .collectList()
+                .block(Duration.ofMinutes(2));
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        Set<String> serverThreads = Thread.getAllStackTraces().keySet().stream()
+                .map(Thread::getName)
+                .filter(name -> name.startsWith(SERVER_THREAD_PREFIX))
+                .collect(Collectors.toSet());
+
+        //then
+        log.info("{} concurrent lookups, {} ms per GitHub call: {} ms total ({} req/s) on {} server threads, "
+                        + "at most {} GitHub calls in flight",
+                CONCURRENT_REQUESTS, UPSTREAM_LATENCY_MILLIS, elapsed.toMillis(),
+                Math.round(CONCURRENT_REQUESTS / (elapsed.toMillis() / 1000.0)), serverThreads.size(),
+                GITHUB.peakInFlight());
+        assertEquals(CONCURRENT_REQUESTS, bodies.size());
+        assertTrue(bodies.stream().allMatch(body -> body.contains("\"repo-1\"") && body.contains("\"sha\"")
+                && !body.contains("\"repo-0\"")));
+        assertEquals(CALLS_PER_LOOKUP * CONCURRENT_REQUESTS, GITHUB.calls());
+        assertTrue(serverThreads.size() < CONCURRENT_REQUESTS / 10);
+        assertTrue(GITHUB.peakInFlight() > CONCURRENT_REQUESTS / 10);
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.enjoythecode.githubapiconsumer.load;
+
+import com.enjoythecode.githubapiconsumer.GithubApiConsumerApplication;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Runs a {@link LoadScenario}: starts a {@link SyntheticGithub}, starts the application against it on a random
+ * port, issues the scenario's lookups from a closed-loop client and reports what clients saw and what it cost
+ * upstream. Both are stopped afterwards, so scenarios do not share caches or rate limit state.
+ */
+final class LoadHarness {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private LoadHarness() {
+    }
+
+    static LoadReport run(LoadScenario scenario) {
+        try (SyntheticGithub github = SyntheticGithub.start(scenario.github());
+             ConfigurableApplicationContext application = startApplication(scenario, github)) {
+            ConnectionProvider connections = ConnectionProvider.builder("load-harness")
+                    .maxConnections(scenario.concurrency())
+                    .pendingAcquireMaxCount(-1)
+                    .build();
+            WebClient client = WebClient.builder()
+                    .baseUrl("http://localhost:" + application.getEnvironment().getProperty("local.server.port"))
+                    .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connections)))
+                    .build();
+            try {
+                return drive(scenario, client, github);
+            } finally {
+                connections.disposeLater().block();
+            }
+        }
+    }
+
+    private static LoadReport drive(LoadScenario scenario, WebClient client, SyntheticGithub github) {
+        List<String> usernames = usernames(scenario);
+        Histogram latencies = new ConcurrentHistogram(3);
+        Map<Integer, Long> statuses = new ConcurrentHashMap<>();
+        long start = System.nanoTime();
+        Flux.fromIterable(usernames)
+                .flatMap(username -> Mono.defer(() -> {
+                            long requestStart = System.nanoTime();
+                            return client.get().uri("/api/github/users/{username}/repos", username)
+                                    .accept(MediaType.APPLICATION_JSON)
+                                    .exchangeToMono(response -> response.releaseBody()
+                                            .thenReturn(response.statusCode().value()))
+                                    .timeout(REQUEST_TIMEOUT)
+                                    .onErrorReturn(0)
+                                    .doOnNext(status -> {
+                                        latencies.recordValue(System.nanoTime() - requestStart);
+                                        statuses.merge(status, 1L, Long::sum);
+                                    });
+                        }),
+                        scenario.concurrency())
+                .blockLast();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new LoadReport(scenario.name(), usernames.size(), elapsed, latencies, Map.copyOf(statuses),
+                github.calls(), github.notModified(), github.rateLimited());
+    }
+
+    /**
+     * Draws the scenario's usernames up front from a seeded Zipf distribution, so the request sequence is the same
+     * on every run.
+     */
+    static List<String> usernames(LoadScenario scenario) {
+        double[] cumulative = new double[scenario.users()];
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += 1 / Math.pow(i + 1, scenario.zipfExponent());
+            cumulative[i] = total;
+        }
+        Random random = new Random(scenario.github().seed());
+        List<String> usernames = new ArrayList<>(scenario.requests());
+        for (int i = 0; i < scenario.requests(); i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * total);
+            usernames.add("load-user-" + (index >= 0 ? index : -index - 1));
+        }
+        return usernames;
+    }
+
+    private static ConfigurableApplicationContext startApplication(LoadScenario scenario, SyntheticGithub github) {
+        List<String> arguments = new ArrayList<>(List.of(
+                "--server.port=0",
+                "--github.api.base-url=" + github.baseUrl(),
+                "--github.admission.enabled=false"));
+        arguments.addAll(scenario.applicationArguments());
+        return new SpringApplicationBuilder(GithubApiConsumerApplication.class)
+                .run(arguments.toArray(String[]::new));
+    }
+
+}
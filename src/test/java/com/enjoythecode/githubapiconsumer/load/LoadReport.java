@@ -0,0 +1,44 @@
+package com.enjoythecode.githubapiconsumer.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Outcome of a {@link LoadScenario}: client-side throughput and latency percentiles, the status codes returned
+ * to clients and what the run cost upstream. Amplification is GitHub calls (including 304s) per client request.
+ */
+record LoadReport(String scenario, int requests, Duration elapsed, Histogram latencies, Map<Integer, Long> statuses,
+                  long upstreamCalls, long notModified, long rateLimited) {
+
+    double throughput() {
+        return requests / (elapsed.toNanos() / 1e9);
+    }
+
+    Duration percentile(double percentile) {
+        return Duration.ofNanos(latencies.getValueAtPercentile(percentile));
+    }
+
+    double amplification() {
+        return (double) upstreamCalls / requests;
+    }
+
+    long count(int status) {
+        return statuses.getOrDefault(status, 0L);
+    }
+
+    String format() {
+        return String.format("""
+                        scenario %s: %d requests in %d ms (%.0f req/s)
+                          latency p50 %d ms, p99 %d ms, p999 %d ms, max %d ms
+                          statuses %s
+                          upstream %d calls (%.2f per request), %d not modified, %d rate limited""",
+                scenario, requests, elapsed.toMillis(), throughput(),
+                percentile(50).toMillis(), percentile(99).toMillis(), percentile(99.9).toMillis(),
+                Duration.ofNanos(latencies.getMaxValue()).toMillis(),
+                new TreeMap<>(statuses), upstreamCalls, amplification(), notModified, rateLimited);
+    }
+
+}
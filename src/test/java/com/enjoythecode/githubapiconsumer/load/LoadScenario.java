@@ -0,0 +1,67 @@
+package com.enjoythecode.githubapiconsumer.load;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * A reproducible load run: {@code requests} lookups issued {@code concurrency} at a time for usernames drawn
+ * from {@code users} distinct users with a Zipf distribution (exponent {@code zipfExponent}, 0 for uniform), so
+ * a few users are hot as in production. Every knob can be overridden with a {@code load.<name>} system property,
+ * e.g. {@code mvn test -Pload-test -Dload.requests=20000 -Dload.median-latency=150ms}.
+ */
+record LoadScenario(String name, int users, int requests, int concurrency, double zipfExponent,
+                    SyntheticGithub.Options github, List<String> applicationArguments) {
+
+    LoadScenario withOverrides() {
+        SyntheticGithub.Options defaults = github;
+        return new LoadScenario(name,
+                intProperty("users", users),
+                intProperty("requests", requests),
+                intProperty("concurrency", concurrency),
+                doubleProperty("zipf-exponent", zipfExponent),
+                new SyntheticGithub.Options(
+                        intProperty("repositories", defaults.repositories()),
+                        intProperty("branches", defaults.branches()),
+                        intProperty("fork-every", defaults.forkEvery()),
+                        durationProperty("median-latency", defaults.medianLatency()),
+                        doubleProperty("latency-sigma", defaults.latencySigma()),
+                        longProperty("rate-limit", defaults.rateLimit()),
+                        durationProperty("rate-limit-window", defaults.rateLimitWindow()),
+                        longProperty("seed", defaults.seed())),
+                applicationArguments);
+    }
+
+    /**
+     * GitHub calls a single lookup costs with every cache cold: the repository pages plus the first branch page
+     * of every non-fork repository, plus any further branch pages.
+     */
+    long uncachedCallsPerLookup(int pageSize) {
+        int repositoryPages = Math.max(1, (github.repositories() + pageSize - 1) / pageSize);
+        int forks = github.forkEvery() > 0 ? (github.repositories() + github.forkEvery() - 1) / github.forkEvery() : 0;
+        int branchPages = Math.max(1, (github.branches() + pageSize - 1) / pageSize);
+        return repositoryPages + (long) (github.repositories() - forks) * branchPages;
+    }
+
+    private static int intProperty(String key, int defaultValue) {
+        String value = System.getProperty("load." + key);
+        return value != null ? Integer.parseInt(value) : defaultValue;
+    }
+
+    private static long longProperty(String key, long defaultValue) {
+        String value = System.getProperty("load." + key);
+        return value != null ? Long.parseLong(value) : defaultValue;
+    }
+
+    private static double doubleProperty(String key, double defaultValue) {
+        String value = System.getProperty("load." + key);
+        return value != null ? Double.parseDouble(value) : defaultValue;
+    }
+
+    private static Duration durationProperty(String key, Duration defaultValue) {
+        String value = System.getProperty("load." + key);
+        return value != null ? DurationStyle.detectAndParse(value) : defaultValue;
+    }
+
+}
@@ -0,0 +1,300 @@
+package com.enjoythecode.githubapiconsumer.load;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.function.Supplier;
+
+/**
+ * Local stand-in for the GitHub REST API. Every user has {@code repositories} repositories with {@code branches}
+ * branches each, except users whose name starts with {@code missing-}, which answer 404. Responses are paginated
+ * with {@code per_page}/{@code page} and a {@code Link} header, carry weak ETags answered with 304 on
+ * {@code If-None-Match}, are delayed by a log-normal latency and are metered by a fixed-window rate limit that
+ * answers 403 with {@code X-RateLimit-Remaining: 0} once exhausted. As on GitHub, 304s are not metered.
+ */
+final class SyntheticGithub implements AutoCloseable {
+
+    static final String MISSING_USER_PREFIX = "missing-";
+
+    private static final int DEFAULT_PAGE_SIZE = 30;
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private final Options options;
+
+    private final DisposableServer server;
+
+    private final Random random;
+
+    private final Cache<String, Body> bodies = Caffeine.newBuilder().maximumSize(20_000).build();
+
+    private final AtomicLong repositoryCalls = new AtomicLong();
+
+    private final AtomicLong branchCalls = new AtomicLong();
+
+    private final AtomicLong notModified = new AtomicLong();
+
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicInteger peakInFlight = new AtomicInteger();
+
+    private long windowEndsAt;
+
+    private long remaining;
+
+    /**
+     * @param repositories   repositories per user
+     * @param branches       branches per repository
+     * @param forkEvery      every n-th repository is a fork, 0 for none
+     * @param medianLatency  median response delay
+     * @param latencySigma   standard deviation of the logarithm of the delay; 0 for a fixed delay
+     * @param rateLimit      metered calls allowed per window
+     * @param rateLimitWindow length of a rate limit window, rounded up to whole seconds
+     * @param seed           seed of the latency distribution
+     */
+    record Options(int repositories, int branches, int forkEvery, Duration medianLatency, double latencySigma,
+                   long rateLimit, Duration rateLimitWindow, long seed) {
+    }
+
+    private record Body(byte[] content, String etag) {
+    }
+
+    private record Budget(long remaining, long resetEpochSecond, boolean exhausted) {
+    }
+
+    private SyntheticGithub(Options options) {
+        this.options = options;
+        this.random = new Random(options.seed());
+        this.server = HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes
+                        .get("/users/{username}/repos", this::repositories)
+                        .get("/repos/{owner}/{repo}/branches", this::branches))
+                .bindNow();
+    }
+
+    static SyntheticGithub start(Options options) {
+        return new SyntheticGithub(options);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.port();
+    }
+
+    long repositoryCalls() {
+        return repositoryCalls.get();
+    }
+
+    long branchCalls() {
+        return branchCalls.get();
+    }
+
+    long calls() {
+        return repositoryCalls.get() + branchCalls.get();
+    }
+
+    long notModified() {
+        return notModified.get();
+    }
+
+    long rateLimited() {
+        return rateLimited.get();
+    }
+
+    /**
+     * Most calls that were waiting for their response delay at the same time.
+     */
+    int peakInFlight() {
+        return peakInFlight.get();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    private Publisher<Void> repositories(HttpServerRequest request, HttpServerResponse response) {
+        repositoryCalls.incrementAndGet();
+        String username = request.param("username");
+        if (username.startsWith(MISSING_USER_PREFIX)) {
+            return delayed(() -> response.status(HttpResponseStatus.NOT_FOUND)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .sendString(Mono.just("{\"message\":\"Not Found\"}"))
+                    .then());
+        }
+        return page(request, response, options.repositories(), i -> repository(username, i));
+    }
+
+    private Publisher<Void> branches(HttpServerRequest request, HttpServerResponse response) {
+        branchCalls.incrementAndGet();
+        String owner = request.param("owner");
+        String repo = request.param("repo");
+        return page(request, response, options.branches(), i -> branch(owner, repo, i));
+    }
+
+    private Publisher<Void> page(HttpServerRequest request, HttpServerResponse response, int total,
+                                 IntFunction<Map<String, Object>> item) {
+        QueryStringDecoder query = new QueryStringDecoder(request.uri());
+        int perPage = Math.min(MAX_PAGE_SIZE, intParameter(query, "per_page", DEFAULT_PAGE_SIZE));
+        int pageNumber = Math.max(1, intParameter(query, "page", 1));
+        Body body = bodies.get(query.path() + "?per_page=" + perPage + "&page=" + pageNumber,
+                key -> render(paginate(total, perPage, pageNumber, item)));
+        return delayed(() -> {
+            if (body.etag().equals(request.requestHeaders().get(HttpHeaders.IF_NONE_MATCH))) {
+                notModified.incrementAndGet();
+                return response.status(HttpResponseStatus.NOT_MODIFIED)
+                        .header(HttpHeaders.ETAG, body.etag())
+                        .send();
+            }
+            Budget budget = meter();
+            response.header("X-RateLimit-Limit", Long.toString(options.rateLimit()))
+                    .header("X-RateLimit-Remaining", Long.toString(budget.remaining()))
+                    .header("X-RateLimit-Reset", Long.toString(budget.resetEpochSecond()));
+            if (budget.exhausted()) {
+                rateLimited.incrementAndGet();
+                return response.status(HttpResponseStatus.FORBIDDEN)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .sendString(Mono.just("{\"message\":\"API rate limit exceeded\"}"))
+                        .then();
+            }
+            String link = linkHeader(query, perPage, pageNumber, total);
+            if (link != null) {
+                response.header(HttpHeaders.LINK, link);
+            }
+            return response.header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ETAG, body.etag())
+                    .sendByteArray(Mono.just(body.content()))
+                    .then();
+        });
+    }
+
+    private synchronized Budget meter() {
+        long now = System.currentTimeMillis();
+        if (now >= windowEndsAt) {
+            windowEndsAt = (now / 1000 + Math.max(1, options.rateLimitWindow().toSeconds())) * 1000;
+            remaining = options.rateLimit();
+        }
+        boolean exhausted = remaining == 0;
+        if (!exhausted) {
+            remaining--;
+        }
+        return new Budget(remaining, windowEndsAt / 1000, exhausted);
+    }
+
+    private Publisher<Void> delayed(Supplier<Publisher<Void>> response) {
+        return Mono.delay(latency())
+                .doOnSubscribe(subscription -> peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max))
+                .doFinally(signal -> inFlight.decrementAndGet())
+                .then(Mono.defer(() -> Mono.from(response.get())));
+    }
+
+    private Duration latency() {
+        double factor = options.latencySigma() > 0 ? Math.exp(options.latencySigma() * random.nextGaussian()) : 1;
+        return Duration.ofNanos((long) (options.medianLatency().toNanos() * factor));
+    }
+
+    private String linkHeader(QueryStringDecoder query, int perPage, int pageNumber, int total) {
+        int lastPage = Math.max(1, (total + perPage - 1) / perPage);
+        if (pageNumber >= lastPage) {
+            return null;
+        }
+        return "<" + pageUri(query.path(), perPage, pageNumber + 1) + ">; rel=\"next\", <"
+                + pageUri(query.path(), perPage, lastPage) + ">; rel=\"last\"";
+    }
+
+    private String pageUri(String path, int perPage, int pageNumber) {
+        return baseUrl() + path + "?per_page=" + perPage + "&page=" + pageNumber;
+    }
+
+    private static List<Map<String, Object>> paginate(int total, int perPage, int pageNumber,
+                                 IntFunction<Map<String, Object>> item) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = (pageNumber - 1) * perPage; i < Math.min(total, pageNumber * perPage); i++) {
+            items.add(item.apply(i));
+        }
+        return items;
+    }
+
+    private Map<String, Object> repository(String owner, int index) {
+        String name = "repo-" + index;
+        Map<String, Object> repository = new LinkedHashMap<>();
+        repository.put("id", 100_000_000L + index);
+        repository.put("name", name);
+        repository.put("full_name", owner + "/" + name);
+        repository.put("private", false);
+        repository.put("owner", Map.of("login", owner, "type", "User", "site_admin", false));
+        repository.put("description", "Synthetic repository number " + index);
+        repository.put("fork", options.forkEvery() > 0 && index % options.forkEvery() == 0);
+        repository.put("url", "https://api.github.com/repos/" + owner + "/" + name);
+        repository.put("updated_at", "2024-07-01T12:00:00Z");
+        repository.put("pushed_at", "2024-07-01T11:59:00Z");
+        repository.put("language", "Java");
+        repository.put("stargazers_count", index % 50);
+        repository.put("default_branch", "main");
+        return repository;
+    }
+
+    private static Map<String, Object> branch(String owner, String repo, int index) {
+        String sha = sha(owner + "/" + repo + "#" + index);
+        Map<String, Object> branch = new LinkedHashMap<>();
+        branch.put("name", index == 0 ? "main" : "feature/branch-" + index);
+        branch.put("commit", Map.of("sha", sha,
+                "url", "https://api.github.com/repos/" + owner + "/" + repo + "/commits/" + sha));
+        branch.put("protected", index == 0);
+        return branch;
+    }
+
+    private static Body render(List<Map<String, Object>> items) {
+        try {
+            byte[] content = OBJECT_MAPPER.writeValueAsBytes(items);
+            return new Body(content, "W/\"" + sha(new String(content, StandardCharsets.UTF_8)) + "\"");
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sha(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int intParameter(QueryStringDecoder query, String name, int defaultValue) {
+        List<String> values = query.parameters().get(name);
+        return values == null || values.isEmpty() ? defaultValue : Integer.parseInt(values.get(0));
+    }
+
+}
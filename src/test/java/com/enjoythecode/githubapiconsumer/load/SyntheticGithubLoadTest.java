@@ -0,0 +1,78 @@
+package com.enjoythecode.githubapiconsumer.load;
+
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Load scenarios against {@link SyntheticGithub}. Each logs a {@link LoadReport} and fails when upstream calls
+ * exceed what the caches should allow. Optional {@code load.max-p99} and {@code load.max-amplification} system
+ * properties turn the report into a regression gate for a given machine. Run with {@code mvn test -Pload-test}.
+ */
+@Slf4j
+@Tag("load")
+class SyntheticGithubLoadTest {
+
+    private static final int PAGE_SIZE = 100;
+
+    @Test
+    public void shouldServeHotUsersFromCacheUnderZipfLoad() {
+        //given
+        LoadScenario scenario = new LoadScenario("zipf", 100, 3000, 32, 1.0,
+                new SyntheticGithub.Options(120, 3, 4, Duration.ofMillis(40), 0.6, 1_000_000,
+                        Duration.ofHours(1), 42),
+                List.of()).withOverrides();
+        int distinctUsers = new HashSet<>(LoadHarness.usernames(scenario)).size();
+
+        //when
+        LoadReport report = LoadHarness.run(scenario);
+
+        //then
+        log.info("\n{}", report.format());
+        assertEquals(scenario.requests(), report.count(HttpStatus.OK.value()));
+        assertTrue(report.upstreamCalls() <= distinctUsers * scenario.uncachedCallsPerLookup(PAGE_SIZE));
+        assertWithinRegressionBudget(report);
+    }
+
+    @Test
+    public void shouldStayWithinGithubRateLimitWhenBudgetIsScarce() {
+        //given
+        LoadScenario scenario = new LoadScenario("rate-limited", 300, 300, 32, 0,
+                new SyntheticGithub.Options(20, 1, 0, Duration.ofMillis(10), 0.3, 1500,
+                        Duration.ofSeconds(3), 42),
+                List.of("--github.rate-limit.low-watermark=100")).withOverrides();
+
+        //when
+        LoadReport report = LoadHarness.run(scenario);
+
+        //then
+        log.info("\n{}", report.format());
+        assertTrue(report.count(HttpStatus.OK.value()) > 0);
+        assertTrue(report.rateLimited() <= scenario.concurrency());
+        assertWithinRegressionBudget(report);
+    }
+
+    private static void assertWithinRegressionBudget(LoadReport report) {
+        String maxP99 = System.getProperty("load.max-p99");
+        if (maxP99 != null) {
+            Duration budget = DurationStyle.detectAndParse(maxP99);
+            assertTrue(report.percentile(99).compareTo(budget) <= 0,
+                    "p99 " + report.percentile(99).toMillis() + " ms exceeds " + maxP99);
+        }
+        String maxAmplification = System.getProperty("load.max-amplification");
+        if (maxAmplification != null) {
+            assertTrue(report.amplification() <= Double.parseDouble(maxAmplification),
+                    "amplification " + report.amplification() + " exceeds " + maxAmplification);
+        }
+    }
+
+}
@@ -0,0 +1,106 @@
+package com.enjoythecode.githubapiconsumer.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SyntheticGithubTest {
+
+    private SyntheticGithub github;
+
+    @AfterEach
+    public void tearDown() {
+        github.close();
+    }
+
+    @Test
+    public void shouldPaginateRepositoriesWithLinkHeader() {
+        //given
+        github = SyntheticGithub.start(options(250, 1_000));
+
+        //when
+        ResponseEntity<JsonNode> first = get("/users/octocat/repos?per_page=100", null);
+        ResponseEntity<JsonNode> last = get("/users/octocat/repos?per_page=100&page=3", null);
+
+        //then
+        assertEquals(100, first.getBody().size());
+        assertEquals("octocat", first.getBody().get(0).get("owner").get("login").asText());
+        assertEquals("<" + github.baseUrl() + "/users/octocat/repos?per_page=100&page=2>; rel=\"next\", <"
+                + github.baseUrl() + "/users/octocat/repos?per_page=100&page=3>; rel=\"last\"",
+                first.getHeaders().getFirst(HttpHeaders.LINK));
+        assertEquals(50, last.getBody().size());
+        assertNull(last.getHeaders().getFirst(HttpHeaders.LINK));
+        assertEquals(2, github.repositoryCalls());
+    }
+
+    @Test
+    public void shouldAnswerMatchingEtagWithNotModifiedWithoutSpendingBudget() {
+        //given
+        github = SyntheticGithub.start(options(5, 1_000));
+        ResponseEntity<JsonNode> first = get("/repos/octocat/repo-1/branches", null);
+
+        //when
+        ResponseEntity<JsonNode> revalidated = get("/repos/octocat/repo-1/branches", first.getHeaders().getETag());
+
+        //then
+        assertEquals(HttpStatus.NOT_MODIFIED, revalidated.getStatusCode());
+        assertEquals(1, github.notModified());
+        assertEquals("999", first.getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertEquals("998", get("/repos/octocat/repo-2/branches", null).getHeaders()
+                .getFirst("X-RateLimit-Remaining"));
+    }
+
+    @Test
+    public void shouldAnswerForbiddenOnceRateLimitIsExhausted() {
+        //given
+        github = SyntheticGithub.start(options(5, 1));
+        get("/users/octocat/repos", null);
+
+        //when
+        ResponseEntity<JsonNode> limited = get("/users/octocat/repos", null);
+
+        //then
+        assertEquals(HttpStatus.FORBIDDEN, limited.getStatusCode());
+        assertEquals("0", limited.getHeaders().getFirst("X-RateLimit-Remaining"));
+        assertNotNull(limited.getHeaders().getFirst("X-RateLimit-Reset"));
+        assertEquals(1, github.rateLimited());
+    }
+
+    @Test
+    public void shouldAnswerNotFoundForMissingUsers() {
+        //given
+        github = SyntheticGithub.start(options(5, 1_000));
+
+        //when
+        ResponseEntity<JsonNode> response = get("/users/" + SyntheticGithub.MISSING_USER_PREFIX + "octocat/repos",
+                null);
+
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+
+    private ResponseEntity<JsonNode> get(String uri, String etag) {
+        return WebClient.create(github.baseUrl()).get().uri(uri)
+                .headers(headers -> {
+                    if (etag != null) {
+                        headers.setIfNoneMatch(etag);
+                    }
+                })
+                .exchangeToMono(response -> response.toEntity(JsonNode.class))
+                .block(Duration.ofSeconds(5));
+    }
+
+    private static SyntheticGithub.Options options(int repositories, long rateLimit) {
+        return new SyntheticGithub.Options(repositories, 3, 0, Duration.ofMillis(1), 0, rateLimit,
+                Duration.ofHours(1), 42);
+    }
+
+}
@@ -0,0 +1,58 @@
+package com.enjoythecode.githubapiconsumer.metrics;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubClientMetricsTest {
+
+    @Test
+    public void shouldReduceRequestPathsToEndpointTemplates() {
+        //when/then
+        assertEquals(GithubClientMetrics.REPOSITORIES_ENDPOINT,
+                GithubClientMetrics.endpoint(URI.create("https://api.github.com/users/test-user/repos?per_page=100")));
+        assertEquals(GithubClientMetrics.REPOSITORIES_ENDPOINT,
+                GithubClientMetrics.endpoint(URI.create("https://api.github.com/user/583231/repos?page=2")));
+        assertEquals(GithubClientMetrics.BRANCHES_ENDPOINT,
+                GithubClientMetrics.endpoint(URI.create("https://api.github.com/repos/test-user/repo1/branches")));
+        assertEquals(GithubClientMetrics.BRANCHES_ENDPOINT,
+                GithubClientMetrics.endpoint(URI.create("https://api.github.com/repositories/42/branches?page=3")));
+        assertEquals("/graphql", GithubClientMetrics.endpoint(URI.create("https://api.github.com/graphql")));
+        assertEquals("other", GithubClientMetrics.endpoint(URI.create("https://api.github.com/users/test-user")));
+    }
+
+    @Test
+    public void shouldTimeCallsByEndpointTemplateAndStatusWithoutUsername() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        GithubClientMetrics clientMetrics = new GithubClientMetrics(meterRegistry);
+        ClientRequest request = ClientRequest.create(HttpMethod.GET,
+                URI.create("https://api.github.com/users/test-user/repos?per_page=100")).build();
+
+        //when
+        clientMetrics.exchangeFilter()
+                .filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build()))
+                .block();
+
+        //then
+        Timer timer = meterRegistry.get("github.client.requests")
+                .tag("endpoint", GithubClientMetrics.REPOSITORIES_ENDPOINT)
+                .tag("status", "404")
+                .tag("outcome", "CLIENT_ERROR")
+                .timer();
+        assertEquals(1, timer.count());
+        assertTrue(meterRegistry.getMeters().stream()
+                .flatMap(meter -> meter.getId().getTags().stream())
+                .noneMatch(tag -> tag.getValue().contains("test-user")));
+    }
+
+}
@@ -0,0 +1,67 @@
+package com.enjoythecode.githubapiconsumer.metrics;
+
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubLookupMetricsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final GithubLookupMetrics lookupMetrics = new GithubLookupMetrics(meterRegistry);
+
+    @Test
+    public void shouldTrackInFlightLookupsAndTimeToFirstElement() {
+        //given
+        Sinks.Many<String> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        List<String> received = new ArrayList<>();
+
+        //when
+        lookupMetrics.instrument(upstream::asFlux).subscribe(received::add);
+        int inFlightDuringLookup = lookupMetrics.getInFlight();
+        upstream.tryEmitNext("repo1");
+        upstream.tryEmitNext("repo2");
+        upstream.tryEmitComplete();
+
+        //then
+        assertEquals(List.of("repo1", "repo2"), received);
+        assertEquals(1, inFlightDuringLookup);
+        assertEquals(0, lookupMetrics.getInFlight());
+        assertEquals(1, meterRegistry.get("github.lookup.first-element").timer().count());
+        assertEquals(1, meterRegistry.get("github.lookup.duration").tag("outcome", "SUCCESS").timer().count());
+    }
+
+    @Test
+    public void shouldCountUserNotFoundIncludingSynchronousFailures() {
+        //when
+        assertThrows(UserNotFoundException.class, () -> lookupMetrics.instrument(() -> {
+            throw new UserNotFoundException("User 'test-user' not found");
+        }).blockLast());
+        assertThrows(UserNotFoundException.class, () -> lookupMetrics.instrument(() ->
+                Flux.error(new UserNotFoundException("User 'test-user' not found"))).blockLast());
+
+        //then
+        assertEquals(2, meterRegistry.get("github.lookup.user-not-found").counter().count());
+        assertEquals(2, meterRegistry.get("github.lookup.duration").tag("outcome", "NOT_FOUND").timer().count());
+        assertEquals(0, lookupMetrics.getInFlight());
+    }
+
+    @Test
+    public void shouldRecordFanOutSize() {
+        //when
+        lookupMetrics.recordFanOut(3);
+        lookupMetrics.recordFanOut(5);
+
+        //then
+        assertEquals(2, meterRegistry.get("github.lookup.fan-out").summary().count());
+        assertEquals(8, meterRegistry.get("github.lookup.fan-out").summary().totalAmount());
+    }
+
+}
@@ -0,0 +1,132 @@
+package com.enjoythecode.githubapiconsumer.ratelimit;
+
+import com.enjoythecode.githubapiconsumer.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubRateLimiterTest {
+
+    private static final Instant NOW = Instant.parse("2024-08-01T12:00:00Z");
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GithubRateLimiter rateLimiter;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateLimiter = new GithubRateLimiter(new RateLimitProperties(true, 100),
+                Clock.fixed(NOW, ZoneOffset.UTC), meterRegistry);
+    }
+
+    @Test
+    public void shouldNotDelayWhileBudgetIsAboveLowWatermark() {
+        //given
+        rateLimiter.update(HttpStatus.OK, rateLimitHeaders(4000, NOW.plusSeconds(600)));
+
+        //when
+        Duration delay = rateLimiter.reserve(RequestPriority.BULK);
+
+        //then
+        assertEquals(Duration.ZERO, delay);
+        assertEquals(3999.0, meterRegistry.get("github.rate-limit.remaining").gauge().value());
+    }
+
+    @Test
+    public void shouldHoldBulkRequestsUntilResetWhenBudgetIsLow() {
+        //given
+        rateLimiter.update(HttpStatus.OK, rateLimitHeaders(50, NOW.plusSeconds(600)));
+
+        //when
+        Duration bulk = rateLimiter.reserve(RequestPriority.BULK);
+        Duration cached = rateLimiter.reserve(RequestPriority.CACHED);
+
+        //then
+        assertEquals(Duration.ofSeconds(600), bulk);
+        assertEquals(Duration.ZERO, cached);
+    }
+
+    @Test
+    public void shouldSpreadInteractiveRequestsOverRemainingWindowWhenBudgetIsLow() {
+        //given
+        rateLimiter.update(HttpStatus.OK, rateLimitHeaders(10, NOW.plusSeconds(100)));
+
+        //when
+        Duration first = rateLimiter.reserve(RequestPriority.INTERACTIVE);
+        Duration second = rateLimiter.reserve(RequestPriority.INTERACTIVE);
+
+        //then
+        assertEquals(Duration.ZERO, first);
+        assertEquals(Duration.ofSeconds(10), second);
+    }
+
+    @Test
+    public void shouldPauseAllRequestsWhenGithubSendsRetryAfter() {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "30");
+
+        //when
+        rateLimiter.update(HttpStatus.FORBIDDEN, headers);
+
+        //then
+        assertEquals(Duration.ofSeconds(30), rateLimiter.reserve(RequestPriority.CACHED));
+    }
+
+    @Test
+    public void shouldPauseUntilResetWhenQuotaIsExhausted() {
+        //when
+        rateLimiter.update(HttpStatus.FORBIDDEN, rateLimitHeaders(0, NOW.plusSeconds(120)));
+
+        //then
+        assertEquals(Duration.ofSeconds(120), rateLimiter.reserve(RequestPriority.INTERACTIVE));
+    }
+
+    @Test
+    public void shouldPauseUntilDateWhenRetryAfterIsHttpDate() {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.RETRY_AFTER, "Thu, 01 Aug 2024 12:00:45 GMT");
+
+        //when
+        rateLimiter.update(HttpStatus.TOO_MANY_REQUESTS, headers);
+
+        //then
+        assertEquals(Duration.ofSeconds(45), rateLimiter.reserve(RequestPriority.CACHED));
+    }
+
+    @Test
+    public void shouldIgnoreUnparseableRateLimitHeaders() {
+        //given
+        rateLimiter.update(HttpStatus.OK, rateLimitHeaders(4000, NOW.plusSeconds(600)));
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(GithubRateLimiter.REMAINING_HEADER, "unknown");
+        headers.add(GithubRateLimiter.RESET_HEADER, "soon");
+        headers.add(HttpHeaders.RETRY_AFTER, "later");
+
+        //when
+        rateLimiter.update(HttpStatus.OK, headers);
+
+        //then
+        assertEquals(Duration.ZERO, rateLimiter.reserve(RequestPriority.BULK));
+        assertEquals(3999.0, meterRegistry.get("github.rate-limit.remaining").gauge().value());
+    }
+
+    private static HttpHeaders rateLimitHeaders(long remaining, Instant reset) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(GithubRateLimiter.REMAINING_HEADER, String.valueOf(remaining));
+        headers.add(GithubRateLimiter.RESET_HEADER, String.valueOf(reset.getEpochSecond()));
+        return headers;
+    }
+
+}
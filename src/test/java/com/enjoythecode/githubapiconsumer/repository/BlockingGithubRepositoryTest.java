@@ -0,0 +1,88 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BlockingGithubRepositoryTest {
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance().build();
+
+    private BlockingGithubRepository githubRepository;
+
+    @BeforeEach
+    public void setup() {
+        githubRepository = new BlockingGithubRepository(RestClient.builder().baseUrl(wireMock.baseUrl()).build());
+    }
+
+    @Test
+    public void shouldFollowNextLinkWhenRepositoriesSpanMultiplePages() {
+        //given
+        wireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/users/test-user/repos?per_page=100"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withHeader("Link", "<" + wireMock.baseUrl() + "/user/1/repos?per_page=100&page=2>; rel=\"next\"")
+                        .withBody("""
+                                [ { "name": "repo1", "fork": false, "owner": { "login": "test-user" } } ]""")));
+        wireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/user/1/repos?per_page=100&page=2"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                [ { "name": "repo2", "fork": true, "owner": { "login": "test-user" } } ]""")));
+
+        //when
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername("test-user");
+
+        //then
+        assertEquals(2, repositories.size());
+        assertEquals("repo1", repositories.get(0).name());
+        assertEquals("test-user", repositories.get(0).ownerDto().login());
+        assertTrue(repositories.get(1).fork());
+    }
+
+    @Test
+    public void shouldReturnBranchesWhenApiReturnsBranches() {
+        //given
+        wireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/repos/test-user/repo1/branches?per_page=100"))
+                .willReturn(WireMock.aResponse()
+                        .withStatus(HttpStatus.OK.value())
+                        .withHeader("Content-Type", "application/json")
+                        .withBody("""
+                                [ { "name": "main", "commit": { "sha": "test-sha-123" } } ]""")));
+
+        //when
+        List<BranchDto> branches = githubRepository.getRepositoryBranches("test-user", "repo1");
+
+        //then
+        assertEquals(1, branches.size());
+        assertEquals("main", branches.get(0).name());
+        assertEquals("test-sha-123", branches.get(0).commitDto().sha());
+    }
+
+    @Test
+    public void shouldThrowUserNotFoundExceptionWhenApiReturns404ForRepositories() {
+        //given
+        wireMock.stubFor(WireMock.get(WireMock.urlEqualTo("/users/nonexistent-user/repos?per_page=100"))
+                .willReturn(WireMock.aResponse().withStatus(HttpStatus.NOT_FOUND.value())));
+
+        //when/then
+        UserNotFoundException thrown = assertThrows(UserNotFoundException.class,
+                () -> githubRepository.getUserRepositoriesByUsername("nonexistent-user"));
+        assertEquals("User 'nonexistent-user' not found", thrown.getMessage());
+    }
+
+}
@@ -0,0 +1,128 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.DecodingException;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GithubJsonDecoderTest {
+
+    private static final String REPOSITORIES = """
+            [
+              {"id": 1, "name": "repo1", "full_name": "test-user/repo1",
+               "owner": {"login": "test-user", "id": 7, "name": "ignored"},
+               "description": "a \\"quoted\\" description", "fork": false, "pushed_at": "2024-07-01T12:00:00Z",
+               "topics": ["name", "login"], "license": {"key": "mit", "name": "MIT License"}},
+              {"id": 2, "name": "forked", "owner": {"login": "test-user"}, "fork": true,
+               "parent": {"name": "upstream", "owner": {"login": "someone-else"}}},
+              {"fork": false, "id": 3, "owner": {"login": "test-user"}, "name": "repo3", "homepage": null}
+            ]
+            """;
+
+    private static final String BRANCHES = """
+            [
+              {"name": "main", "commit": {"sha": "test-sha-1", "url": "https://api.github.com/x"}, "protected": true},
+              {"name": "dev", "protected": false, "commit": {"url": "https://api.github.com/y", "sha": "test-sha-2"}}
+            ]
+            """;
+
+    private final GithubJsonDecoder decoder = new GithubJsonDecoder();
+
+    @Test
+    public void shouldDecodeNonForkRepositoriesFromArbitrarilySplitBuffers() {
+        //given
+        Flux<DataBuffer> body = chunks(REPOSITORIES, 7);
+
+        //when
+        List<Object> repositories = decoder.decode(body, ResolvableType.forClass(RepositoryDto.class),
+                MediaType.APPLICATION_JSON, null).collectList().block();
+
+        //then
+        assertEquals(2, repositories.size());
+        RepositoryDto first = (RepositoryDto) repositories.get(0);
+        RepositoryDto second = (RepositoryDto) repositories.get(1);
+        assertEquals("repo1", first.name());
+        assertEquals("test-user", first.ownerDto().login());
+        assertFalse(first.fork());
+        assertNull(first.branches());
+        assertEquals(Instant.parse("2024-07-01T12:00:00Z"), first.pushedAt());
+        assertNull(second.pushedAt());
+        assertEquals("repo3", second.name());
+        assertSame(first.ownerDto(), second.ownerDto());
+    }
+
+    @Test
+    public void shouldDecodeBranchesWithInternedNames() {
+        //given
+        Flux<DataBuffer> body = chunks(BRANCHES, 5);
+
+        //when
+        List<Object> branches = decoder.decode(body, ResolvableType.forClass(BranchDto.class),
+                MediaType.APPLICATION_JSON, null).collectList().block();
+        List<Object> again = decoder.decode(chunks(BRANCHES, 11), ResolvableType.forClass(BranchDto.class),
+                MediaType.APPLICATION_JSON, null).collectList().block();
+
+        //then
+        assertEquals(2, branches.size());
+        BranchDto main = (BranchDto) branches.get(0);
+        BranchDto dev = (BranchDto) branches.get(1);
+        assertEquals("main", main.name());
+        assertEquals("test-sha-1", main.commitDto().sha());
+        assertEquals("dev", dev.name());
+        assertEquals("test-sha-2", dev.commitDto().sha());
+        assertSame(main.name(), ((BranchDto) again.get(0)).name());
+    }
+
+    @Test
+    public void shouldOnlyDecodeGithubDtos() {
+        //when/then
+        assertTrue(decoder.canDecode(ResolvableType.forClass(RepositoryDto.class), MediaType.APPLICATION_JSON));
+        assertTrue(decoder.canDecode(ResolvableType.forClass(BranchDto.class), MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(String.class), MediaType.APPLICATION_JSON));
+        assertFalse(decoder.canDecode(ResolvableType.forClass(RepositoryDto.class), MediaType.TEXT_PLAIN));
+    }
+
+    @Test
+    public void shouldFailOnMalformedJson() {
+        //given
+        Flux<DataBuffer> body = chunks("[{\"name\": \"repo1\",, }]", 4);
+
+        //when/then
+        assertThrows(DecodingException.class, () -> decoder.decode(body, ResolvableType.forClass(RepositoryDto.class),
+                MediaType.APPLICATION_JSON, null).collectList().block());
+    }
+
+    @Test
+    public void shouldFailOnMalformedPushedAt() {
+        //given
+        Flux<DataBuffer> body = chunks("[{\"name\": \"repo1\", \"pushed_at\": \"yesterday\"}]", 4);
+
+        //when/then
+        assertThrows(DecodingException.class, () -> decoder.decode(body, ResolvableType.forClass(RepositoryDto.class),
+                MediaType.APPLICATION_JSON, null).collectList().block());
+    }
+
+    private static Flux<DataBuffer> chunks(String json, int size) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        List<DataBuffer> buffers = new ArrayList<>();
+        for (int i = 0; i < bytes.length; i += size) {
+            byte[] chunk = new byte[Math.min(size, bytes.length - i)];
+            System.arraycopy(bytes, i, chunk, 0, chunk.length);
+            buffers.add(DefaultDataBufferFactory.sharedInstance.wrap(chunk));
+        }
+        return Flux.fromIterable(buffers);
+    }
+
+}
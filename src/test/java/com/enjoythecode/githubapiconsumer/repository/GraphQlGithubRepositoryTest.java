@@ -0,0 +1,175 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.github.tomakehurst.wiremock.client.ResponseDefinitionBuilder;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockExtension;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClient;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GraphQlGithubRepositoryTest {
+
+    @RegisterExtension
+    static WireMockExtension wireMock = WireMockExtension.newInstance().build();
+
+    private GraphQlGithubRepository githubRepository;
+
+    @BeforeEach
+    public void setup() {
+        githubRepository = new GraphQlGithubRepository(WebClient.builder().baseUrl(wireMock.baseUrl()).build());
+    }
+
+    @Test
+    public void shouldReturnRepositoriesWithBranchesAcrossPages() {
+        //given
+        wireMock.stubFor(WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .atPriority(5)
+                .withRequestBody(WireMock.matchingJsonPath("$.variables.login", WireMock.equalTo("test-user")))
+                .willReturn(okJson("""
+                        {
+                          "data": {
+                            "repositoryOwner": {
+                              "repositories": {
+                                "pageInfo": { "hasNextPage": true, "endCursor": "cursor-1" },
+                                "nodes": [
+                                  {
+                                    "name": "repo1",
+                                    "isFork": false,
+                                    "owner": { "login": "test-user" },
+                                    "refs": {
+                                      "pageInfo": { "hasNextPage": false, "endCursor": null },
+                                      "nodes": [ { "name": "main", "target": { "oid": "test-sha-1" } } ]
+                                    }
+                                  }
+                                ]
+                              }
+                            }
+                          }
+                        }""")));
+        wireMock.stubFor(WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .atPriority(1)
+                .withRequestBody(WireMock.matchingJsonPath("$.variables.cursor", WireMock.equalTo("cursor-1")))
+                .willReturn(okJson("""
+                        {
+                          "data": {
+                            "repositoryOwner": {
+                              "repositories": {
+                                "pageInfo": { "hasNextPage": false, "endCursor": "cursor-2" },
+                                "nodes": [
+                                  {
+                                    "name": "repo2",
+                                    "isFork": false,
+                                    "owner": { "login": "test-user" },
+                                    "refs": {
+                                      "pageInfo": { "hasNextPage": false, "endCursor": null },
+                                      "nodes": [
+                                        { "name": "main", "target": { "oid": "test-sha-2" } },
+                                        { "name": "dev", "target": { "oid": "test-sha-3" } }
+                                      ]
+                                    }
+                                  }
+                                ]
+                              }
+                            }
+                          }
+                        }""")));
+
+        //when
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername("test-user").collectList().block();
+
+        //then
+        assertEquals(2, repositories.size());
+        assertEquals("repo1", repositories.get(0).name());
+        assertEquals("test-user", repositories.get(0).ownerDto().login());
+        assertEquals("test-sha-1", repositories.get(0).branches().get(0).commitDto().sha());
+        assertEquals("repo2", repositories.get(1).name());
+        assertEquals(2, repositories.get(1).branches().size());
+        assertEquals("dev", repositories.get(1).branches().get(1).name());
+        wireMock.verify(2, WireMock.postRequestedFor(WireMock.urlEqualTo("/graphql")));
+    }
+
+    @Test
+    public void shouldFetchRemainingBranchesWhenRepositoryHasMoreThanOnePageOfRefs() {
+        //given
+        wireMock.stubFor(WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .withRequestBody(WireMock.matchingJsonPath("$.variables.login", WireMock.equalTo("test-user")))
+                .willReturn(okJson("""
+                        {
+                          "data": {
+                            "repositoryOwner": {
+                              "repositories": {
+                                "pageInfo": { "hasNextPage": false, "endCursor": "cursor-1" },
+                                "nodes": [
+                                  {
+                                    "name": "repo1",
+                                    "isFork": false,
+                                    "owner": { "login": "test-user" },
+                                    "refs": {
+                                      "pageInfo": { "hasNextPage": true, "endCursor": "refs-cursor-1" },
+                                      "nodes": [ { "name": "main", "target": { "oid": "test-sha-1" } } ]
+                                    }
+                                  }
+                                ]
+                              }
+                            }
+                          }
+                        }""")));
+        wireMock.stubFor(WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .withRequestBody(WireMock.matchingJsonPath("$.variables.cursor", WireMock.equalTo("refs-cursor-1")))
+                .willReturn(okJson("""
+                        {
+                          "data": {
+                            "repository": {
+                              "refs": {
+                                "pageInfo": { "hasNextPage": false, "endCursor": "refs-cursor-2" },
+                                "nodes": [ { "name": "dev", "target": { "oid": "test-sha-2" } } ]
+                              }
+                            }
+                          }
+                        }""")));
+
+        //when
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername("test-user").collectList().block();
+
+        //then
+        assertEquals(1, repositories.size());
+        List<BranchDto> branches = repositories.get(0).branches();
+        assertEquals(2, branches.size());
+        assertEquals("main", branches.get(0).name());
+        assertEquals("test-sha-2", branches.get(1).commitDto().sha());
+    }
+
+    @Test
+    public void shouldThrowUserNotFoundExceptionWhenRepositoryOwnerIsNull() {
+        //given
+        wireMock.stubFor(WireMock.post(WireMock.urlEqualTo("/graphql"))
+                .willReturn(okJson("""
+                        {
+                          "data": { "repositoryOwner": null },
+                          "errors": [ { "type": "NOT_FOUND", "message": "Could not resolve to a RepositoryOwner" } ]
+                        }""")));
+
+        //when/then
+        UserNotFoundException thrown = assertThrows(UserNotFoundException.class,
+                () -> githubRepository.getUserRepositoriesByUsername("nonexistent-user").collectList().block()
+        );
+        assertEquals("User 'nonexistent-user' not found", thrown.getMessage());
+    }
+
+    private static ResponseDefinitionBuilder okJson(String body) {
+        return WireMock.aResponse()
+                .withStatus(HttpStatus.OK.value())
+                .withHeader("Content-Type", "application/json")
+                .withBody(body);
+    }
+
+}
@@ -0,0 +1,306 @@
+package com.enjoythecode.githubapiconsumer.repository;
+
+import com.enjoythecode.githubapiconsumer.cache.GithubResponseCache;
+import com.enjoythecode.githubapiconsumer.cache.InProcessCacheBackend;
+import com.enjoythecode.githubapiconsumer.cache.SnapshotStore;
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.SnapshotProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.net.ConnectException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class RestGithubRepositoryTest {
+
+    private static final String REPOS_URI = "/users/{username}/repos?per_page={perPage}";
+
+    private static final String BRANCHES_URI = "/repos/{username}/{repoName}/branches?per_page={perPage}";
+
+    @Mock
+    private WebClient webClient;
+
+    @Mock
+    private WebClient.RequestHeadersUriSpec requestHeadersUriSpec;
+
+    @Mock
+    private WebClient.RequestHeadersSpec requestHeadersSpec;
+
+    @Mock
+    private WebClient.ResponseSpec responseSpec;
+
+    private GithubResponseCache responseCache;
+
+    private RestGithubRepository githubRepository;
+
+    @BeforeEach
+    public void setup() {
+        CacheProperties cacheProperties = new CacheProperties(true, 1000, Duration.ZERO, Duration.ofHours(1));
+        responseCache = new GithubResponseCache(cacheProperties, new InProcessCacheBackend(cacheProperties,
+                new SnapshotStore(new SnapshotProperties(false, null, null), new ObjectMapper(), Clock.systemUTC())),
+                new SimpleMeterRegistry());
+        githubRepository = new RestGithubRepository(webClient, responseCache);
+        when(webClient.get()).thenReturn(requestHeadersUriSpec);
+        when(requestHeadersSpec.accept(MediaType.APPLICATION_JSON)).thenReturn(requestHeadersSpec);
+    }
+
+    @Test
+    public void shouldReturnRepositoriesWhenApiReturnsRepositories() {
+        //given
+        String username = "test-user";
+        List<RepositoryDto> mockRepositories = List.of(
+                new RepositoryDto(new OwnerDto(username), "test", false, List.of())
+        );
+
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(RepositoryDto.class)).thenReturn(Mono.just(ResponseEntity.ok(mockRepositories)));
+        when(requestHeadersUriSpec.uri(eq(REPOS_URI), eq(username), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+
+        //when
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername(username).collectList().block();
+
+        //then
+        assertEquals(1, repositories.size());
+        RepositoryDto repository = repositories.get(0);
+        assertEquals("test", repository.name());
+        assertEquals(username, repository.ownerDto().login());
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenApiReturnsEmptyResponseForRepositories() {
+        //given
+        String username = "test-user";
+
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(RepositoryDto.class)).thenReturn(Mono.just(ResponseEntity.ok(List.of())));
+        when(requestHeadersUriSpec.uri(eq(REPOS_URI), eq(username), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+
+        //when
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername(username).collectList().block();
+
+        //then
+        assertEquals(0, repositories.size());
+    }
+
+    @Test
+    public void shouldThrowUserNotFoundExceptionWhenApiReturns404ForRepositories() {
+        //given
+        String username = "test-user";
+        WebClientResponseException exception = WebClientResponseException.create(
+                HttpStatus.NOT_FOUND.value(),
+                "User not found",
+                HttpHeaders.EMPTY,
+                null,
+                StandardCharsets.UTF_8
+        );
+
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(RepositoryDto.class)).thenReturn(Mono.error(exception));
+        when(requestHeadersUriSpec.uri(eq(REPOS_URI), eq(username), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+
+        //when/then
+        UserNotFoundException thrown = assertThrows(UserNotFoundException.class,
+                () -> githubRepository.getUserRepositoriesByUsername(username).collectList().block()
+        );
+        assertEquals("User 'test-user' not found", thrown.getMessage());
+    }
+
+    @Test
+    public void shouldFollowNextLinkWhenRepositoriesSpanMultiplePages() {
+        //given
+        String username = "test-user";
+        URI nextPage = URI.create("https://api.github.com/user/1/repos?per_page=100&page=2");
+        HttpHeaders firstPageHeaders = new HttpHeaders();
+        firstPageHeaders.add(HttpHeaders.LINK,
+                "<" + nextPage + ">; rel=\"next\", <https://api.github.com/user/1/repos?per_page=100&page=2>; rel=\"last\"");
+        List<RepositoryDto> firstPage = List.of(new RepositoryDto(new OwnerDto(username), "repo1", false, List.of()));
+        List<RepositoryDto> secondPage = List.of(new RepositoryDto(new OwnerDto(username), "repo2", false, List.of()));
+
+        when(requestHeadersUriSpec.uri(eq(REPOS_URI), eq(username), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersUriSpec.uri(nextPage)).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(RepositoryDto.class)).thenReturn(
+                Mono.just(ResponseEntity.ok().headers(firstPageHeaders).body(firstPage)),
+                Mono.just(ResponseEntity.ok(secondPage)));
+
+        //when
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername(username).collectList().block();
+
+        //then
+        assertEquals(2, repositories.size());
+        assertEquals("repo1", repositories.get(0).name());
+        assertEquals("repo2", repositories.get(1).name());
+    }
+
+    @Test
+    public void shouldReturnNoNextPageWhenLinkHeaderHasOnlyPreviousPage() {
+        //given
+        HttpHeaders headers = new HttpHeaders();
+        headers.add(HttpHeaders.LINK, "<https://api.github.com/user/1/repos?per_page=100&page=1>; rel=\"prev\"");
+
+        //when/then
+        assertTrue(RestGithubRepository.nextPageUri(headers).isEmpty());
+    }
+
+    @Test
+    public void shouldServeCachedPageWhenGithubAnswersNotModified() {
+        //given
+        String username = "test-user";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"etag-1\"");
+        List<RepositoryDto> mockRepositories = List.of(
+                new RepositoryDto(new OwnerDto(username), "test", false, List.of())
+        );
+
+        when(requestHeadersUriSpec.uri(eq(REPOS_URI), eq(username), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.header(HttpHeaders.IF_NONE_MATCH, "\"etag-1\"")).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(RepositoryDto.class)).thenReturn(
+                Mono.just(ResponseEntity.ok().headers(headers).body(mockRepositories)),
+                Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).body(List.of())));
+
+        //when
+        githubRepository.getUserRepositoriesByUsername(username).collectList().block();
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername(username).collectList().block();
+
+        //then
+        verify(requestHeadersSpec, times(1)).header(HttpHeaders.IF_NONE_MATCH, "\"etag-1\"");
+        assertEquals(1, repositories.size());
+        assertEquals("test", repositories.get(0).name());
+    }
+
+    @Test
+    public void shouldServeStaleCachedPageWhenGithubIsUnreachable() {
+        //given
+        String username = "test-user";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag("\"etag-1\"");
+        List<RepositoryDto> mockRepositories = List.of(
+                new RepositoryDto(new OwnerDto(username), "test", false, List.of())
+        );
+        WebClientRequestException unreachable = new WebClientRequestException(new ConnectException("Connection refused"),
+                HttpMethod.GET, URI.create("https://api.github.com/users/test-user/repos"),
+                HttpHeaders.EMPTY);
+
+        when(requestHeadersUriSpec.uri(eq(REPOS_URI), eq(username), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.header(HttpHeaders.IF_NONE_MATCH, "\"etag-1\"")).thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(RepositoryDto.class)).thenReturn(
+                Mono.just(ResponseEntity.ok().headers(headers).body(mockRepositories)),
+                Mono.error(unreachable));
+
+        //when
+        githubRepository.getUserRepositoriesByUsername(username).collectList().block();
+        List<RepositoryDto> repositories = githubRepository.getUserRepositoriesByUsername(username).collectList().block();
+
+        //then
+        assertEquals(1, repositories.size());
+        assertEquals("test", repositories.get(0).name());
+    }
+
+    @Test
+    public void shouldReturnBranchesWhenApiReturnsBranches() {
+        //given
+        String username = "test-user";
+        String repoName = "test";
+        List<BranchDto> mockBranches = List.of(
+                new BranchDto("test-main", new CommitDto("test-sha-123"))
+        );
+
+        when(requestHeadersUriSpec.uri(eq(BRANCHES_URI), eq(username), eq(repoName), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(BranchDto.class)).thenReturn(Mono.just(ResponseEntity.ok(mockBranches)));
+
+        //when
+        List<BranchDto> branches = githubRepository.getRepositoryBranches(username, repoName).collectList().block();
+
+        //then
+        assertEquals(1, branches.size());
+        BranchDto branch = branches.get(0);
+        assertEquals("test-main", branch.name());
+        assertEquals("test-sha-123", branch.commitDto().sha());
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenApiReturnsEmptyResponseForBranches() {
+        //given
+        String username = "test-user";
+        String repoName = "test";
+
+        when(requestHeadersUriSpec.uri(eq(BRANCHES_URI), eq(username), eq(repoName), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(BranchDto.class)).thenReturn(Mono.just(ResponseEntity.ok(List.of())));
+
+        //when
+        List<BranchDto> branches = githubRepository.getRepositoryBranches(username, repoName).collectList().block();
+
+        //then
+        assertEquals(0, branches.size());
+    }
+
+    @Test
+    public void shouldThrowHttpClientErrorExceptionWhenApiReturnsErrorForBranches() {
+        //given
+        String username = "test-user";
+        String repoName = "test";
+        WebClientResponseException exception = WebClientResponseException.create(
+                HttpStatus.BAD_REQUEST.value(),
+                "Bad Request",
+                HttpHeaders.EMPTY,
+                null,
+                StandardCharsets.UTF_8
+        );
+
+        when(requestHeadersUriSpec.uri(eq(BRANCHES_URI), eq(username), eq(repoName), eq(RestGithubRepository.PAGE_SIZE)))
+                .thenReturn(requestHeadersSpec);
+        when(requestHeadersSpec.retrieve()).thenReturn(responseSpec);
+        when(responseSpec.toEntityList(BranchDto.class)).thenReturn(Mono.error(exception));
+
+        //when/then
+        WebClientResponseException thrown = assertThrows(WebClientResponseException.class,
+                () -> githubRepository.getRepositoryBranches(username, repoName).collectList().block()
+        );
+        assertEquals(HttpStatus.BAD_REQUEST, thrown.getStatusCode());
+        assertEquals("Bad Request", thrown.getStatusText());
+    }
+
+}
\ No newline at end of file
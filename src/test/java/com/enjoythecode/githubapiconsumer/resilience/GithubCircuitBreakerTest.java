@@ -0,0 +1,106 @@
+package com.enjoythecode.githubapiconsumer.resilience;
+
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class GithubCircuitBreakerTest {
+
+    private static final Instant NOW = Instant.parse("2024-08-01T12:00:00Z");
+
+    private static final String ENDPOINT = "/repos/{username}/{repoName}/branches";
+
+    private final Clock clock = mock(Clock.class);
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private GithubCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    public void setup() {
+        when(clock.instant()).thenReturn(NOW);
+        meterRegistry = new SimpleMeterRegistry();
+        circuitBreaker = new GithubCircuitBreaker(new ResilienceProperties(true, Duration.ofSeconds(10), 2,
+                Duration.ofMillis(100), Duration.ofSeconds(1), false, 10, 4, 0.5, Duration.ofSeconds(30)),
+                clock, meterRegistry);
+    }
+
+    @Test
+    public void shouldStayClosedUntilMinimumCallsAreRecorded() {
+        //when
+        for (int i = 0; i < 3; i++) {
+            circuitBreaker.tryAcquire(ENDPOINT);
+            circuitBreaker.onFailure(ENDPOINT);
+        }
+
+        //then
+        assertEquals(GithubCircuitBreaker.State.CLOSED, circuitBreaker.getState(ENDPOINT));
+        assertTrue(circuitBreaker.tryAcquire(ENDPOINT));
+    }
+
+    @Test
+    public void shouldOpenOnFailureRateAndRejectCallsWhileOpen() {
+        //given
+        circuitBreaker.onSuccess(ENDPOINT);
+        circuitBreaker.onSuccess(ENDPOINT);
+        circuitBreaker.onFailure(ENDPOINT);
+
+        //when
+        circuitBreaker.onFailure(ENDPOINT);
+
+        //then
+        assertEquals(GithubCircuitBreaker.State.OPEN, circuitBreaker.getState(ENDPOINT));
+        assertFalse(circuitBreaker.tryAcquire(ENDPOINT));
+        assertTrue(circuitBreaker.tryAcquire("/graphql"));
+        assertEquals(1, meterRegistry.get("github.circuit-breaker.rejected").tag("endpoint", ENDPOINT).counter()
+                .count());
+        assertEquals(2, meterRegistry.get("github.circuit-breaker.state").tag("endpoint", ENDPOINT).gauge().value());
+    }
+
+    @Test
+    public void shouldLetOneProbeThroughAfterOpenPeriodAndCloseOnSuccess() {
+        //given
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure(ENDPOINT);
+        }
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+
+        //when
+        boolean probe = circuitBreaker.tryAcquire(ENDPOINT);
+        boolean concurrent = circuitBreaker.tryAcquire(ENDPOINT);
+        circuitBreaker.onSuccess(ENDPOINT);
+
+        //then
+        assertTrue(probe);
+        assertFalse(concurrent);
+        assertEquals(GithubCircuitBreaker.State.CLOSED, circuitBreaker.getState(ENDPOINT));
+        assertTrue(circuitBreaker.tryAcquire(ENDPOINT));
+    }
+
+    @Test
+    public void shouldReopenWhenProbeFails() {
+        //given
+        for (int i = 0; i < 4; i++) {
+            circuitBreaker.onFailure(ENDPOINT);
+        }
+        when(clock.instant()).thenReturn(NOW.plusSeconds(30));
+        circuitBreaker.tryAcquire(ENDPOINT);
+
+        //when
+        circuitBreaker.onFailure(ENDPOINT);
+
+        //then
+        assertEquals(GithubCircuitBreaker.State.OPEN, circuitBreaker.getState(ENDPOINT));
+        assertFalse(circuitBreaker.tryAcquire(ENDPOINT));
+    }
+
+}
@@ -0,0 +1,198 @@
+package com.enjoythecode.githubapiconsumer.resilience;
+
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.exception.GithubUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.netty.http.client.PrematureCloseException;
+
+import java.net.URI;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceExchangeFilterTest {
+
+    private static final String BRANCHES_ENDPOINT = "/repos/{username}/{repoName}/branches";
+
+    private static final ClientRequest REQUEST = ClientRequest.create(HttpMethod.GET,
+            URI.create("https://api.github.com/repos/test-user/repo1/branches?per_page=100")).build();
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    public void shouldRetryServerErrorsAndConnectionResets() {
+        //given
+        ResilienceExchangeFilter filter = filter(properties(false));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> switch (calls.incrementAndGet()) {
+            case 1 -> Mono.just(ClientResponse.create(HttpStatus.BAD_GATEWAY).build());
+            case 2 -> Mono.error(PrematureCloseException.TEST_EXCEPTION);
+            default -> Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        //when
+        ClientResponse response = filter.filter(REQUEST, next).block();
+
+        //then
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(3, calls.get());
+        assertEquals(2, meterRegistry.get("github.client.retries").tag("endpoint", BRANCHES_ENDPOINT).counter()
+                .count());
+    }
+
+    @Test
+    public void shouldSignalLastServerErrorWhenRetriesAreExhausted() {
+        //given
+        ResilienceExchangeFilter filter = filter(properties(false));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+        };
+
+        //when/then
+        WebClientResponseException thrown = assertThrows(WebClientResponseException.class,
+                () -> filter.filter(REQUEST, next).block());
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, thrown.getStatusCode());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    public void shouldNotRetryClientErrors() {
+        //given
+        ResilienceExchangeFilter filter = filter(properties(false));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.NOT_FOUND).build());
+        };
+
+        //when
+        ClientResponse response = filter.filter(REQUEST, next).block();
+
+        //then
+        assertEquals(HttpStatus.NOT_FOUND, response.statusCode());
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    public void shouldFailFastOnceCircuitBreakerIsOpen() {
+        //given
+        ResilienceExchangeFilter filter = filter(properties(false));
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        };
+        assertThrows(WebClientResponseException.class, () -> filter.filter(REQUEST, next).block());
+
+        //when/then
+        assertThrows(GithubUnavailableException.class, () -> filter.filter(REQUEST, next).block());
+        assertThrows(GithubUnavailableException.class, () -> filter.filter(REQUEST, next).block());
+        assertEquals(4, calls.get());
+    }
+
+    @Test
+    public void shouldGiveUpWhenLookupDeadlineExpires() {
+        //given
+        ResilienceExchangeFilter filter = filter(properties(false));
+        ExchangeFunction next = request -> Mono.<ClientResponse>never();
+
+        //when/then
+        assertThrows(DeadlineExceededException.class, () -> filter.filter(REQUEST, next)
+                .contextWrite(Deadline.within(Duration.ofMillis(100)))
+                .block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void shouldCountCallsHangingPastDeadlineAsFailures() {
+        //given
+        ResilienceExchangeFilter filter = filter(breakerProperties(2, Duration.ofSeconds(30)));
+        ExchangeFunction next = request -> Mono.<ClientResponse>never();
+
+        //when
+        for (int i = 0; i < 2; i++) {
+            assertThrows(DeadlineExceededException.class, () -> filter.filter(REQUEST, next)
+                    .contextWrite(Deadline.within(Duration.ofMillis(50)))
+                    .block(Duration.ofSeconds(5)));
+        }
+
+        //then
+        assertThrows(GithubUnavailableException.class, () -> filter.filter(REQUEST, next)
+                .block(Duration.ofSeconds(5)));
+    }
+
+    @Test
+    public void shouldReleaseProbeThatHangsPastDeadline() {
+        //given
+        ResilienceProperties properties = breakerProperties(1, Duration.ZERO);
+        GithubCircuitBreaker circuitBreaker = new GithubCircuitBreaker(properties, Clock.systemUTC(), meterRegistry);
+        ResilienceExchangeFilter filter = new ResilienceExchangeFilter(properties, circuitBreaker, meterRegistry);
+        assertThrows(WebClientResponseException.class, () -> filter.filter(REQUEST,
+                request -> Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build())).block());
+        assertThrows(DeadlineExceededException.class, () -> filter.filter(REQUEST,
+                        request -> Mono.<ClientResponse>never())
+                .contextWrite(Deadline.within(Duration.ofMillis(50)))
+                .block(Duration.ofSeconds(5)));
+
+        //when
+        ClientResponse response = filter.filter(REQUEST,
+                request -> Mono.just(ClientResponse.create(HttpStatus.OK).build())).block(Duration.ofSeconds(5));
+
+        //then
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(GithubCircuitBreaker.State.CLOSED, circuitBreaker.getState(BRANCHES_ENDPOINT));
+    }
+
+    @Test
+    public void shouldHedgeCallsSlowerThanTheEndpointP95() {
+        //given
+        ResilienceExchangeFilter filter = filter(properties(true));
+        for (int i = 0; i < 32; i++) {
+            filter.filter(REQUEST, request -> Mono.just(ClientResponse.create(HttpStatus.OK).build())).block();
+        }
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction next = request -> calls.incrementAndGet() == 1
+                ? Mono.<ClientResponse>never()
+                : Mono.just(ClientResponse.create(HttpStatus.OK).build());
+
+        //when
+        ClientResponse response = filter.filter(REQUEST, next).block(Duration.ofSeconds(5));
+
+        //then
+        assertEquals(HttpStatus.OK, response.statusCode());
+        assertEquals(2, calls.get());
+        assertEquals(1, meterRegistry.get("github.client.hedges").tag("endpoint", BRANCHES_ENDPOINT).counter()
+                .count());
+    }
+
+    private ResilienceExchangeFilter filter(ResilienceProperties properties) {
+        return new ResilienceExchangeFilter(properties,
+                new GithubCircuitBreaker(properties, Clock.systemUTC(), meterRegistry), meterRegistry);
+    }
+
+    /**
+     * No retries, and a breaker that opens after {@code minimumCalls} failed calls for {@code openFor}.
+     */
+    private static ResilienceProperties breakerProperties(int minimumCalls, Duration openFor) {
+        return new ResilienceProperties(true, Duration.ofSeconds(10), 0, Duration.ofMillis(1), Duration.ofMillis(10),
+                false, 10, minimumCalls, 0.5, openFor);
+    }
+
+    private static ResilienceProperties properties(boolean hedging) {
+        return new ResilienceProperties(true, Duration.ofSeconds(10), 2, Duration.ofMillis(1), Duration.ofMillis(10),
+                hedging, 10, 4, 0.5, Duration.ofSeconds(30));
+    }
+
+}
@@ -0,0 +1,115 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.config.FanOutProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    public void shouldQueueCallsAboveLimitAndStartThemInOrder() {
+        //given
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new FanOutProperties(1, 1, 1, false, Duration.ofSeconds(2), 0.5), meterRegistry);
+        Sinks.One<String> first = Sinks.one();
+        AtomicBoolean secondStarted = new AtomicBoolean();
+
+        //when
+        limiter.submit(first.asMono()).subscribe();
+        limiter.submit(Mono.fromCallable(() -> secondStarted.getAndSet(true))).subscribe();
+
+        //then
+        assertFalse(secondStarted.get());
+        assertEquals(1, limiter.getQueueDepth());
+        assertEquals(1.0, meterRegistry.get("github.fan-out.queue-depth").gauge().value());
+
+        first.tryEmitValue("done");
+
+        assertTrue(secondStarted.get());
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void shouldStartLongQueueOfCallsFailingImmediatelyWithoutOverflowingStack() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new FanOutProperties(1, 1, 1, false, Duration.ofSeconds(2), 0.5), new SimpleMeterRegistry());
+        Sinks.One<String> first = Sinks.one();
+        AtomicInteger failed = new AtomicInteger();
+        limiter.submit(first.asMono()).subscribe();
+        for (int i = 0; i < 100_000; i++) {
+            limiter.submit(Mono.error(new IllegalStateException("deadline exceeded")))
+                    .subscribe(value -> { }, error -> failed.incrementAndGet());
+        }
+
+        //when
+        first.tryEmitValue("done");
+
+        //then
+        assertEquals(100_000, failed.get());
+        assertEquals(0, limiter.getQueueDepth());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    public void shouldDecreaseLimitWhenGithubRateLimits() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new FanOutProperties(16, 4, 32, true, Duration.ofSeconds(2), 0.5), new SimpleMeterRegistry());
+        WebClientResponseException tooManyRequests = WebClientResponseException.create(
+                HttpStatus.TOO_MANY_REQUESTS.value(), "Too Many Requests", HttpHeaders.EMPTY, null,
+                StandardCharsets.UTF_8);
+
+        //when
+        limiter.submit(Mono.error(tooManyRequests)).onErrorResume(e -> Mono.empty()).block();
+
+        //then
+        assertEquals(8.0, limiter.getLimit());
+    }
+
+    @Test
+    public void shouldIncreaseLimitAdditivelyOnSuccess() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new FanOutProperties(4, 4, 32, true, Duration.ofSeconds(2), 0.5), new SimpleMeterRegistry());
+
+        //when
+        for (int i = 0; i < 4; i++) {
+            limiter.submit(Mono.just(i)).block();
+        }
+
+        //then
+        assertTrue(limiter.getLimit() > 4.0);
+        assertTrue(limiter.getLimit() < 5.5);
+    }
+
+    @Test
+    public void shouldNotDropBelowMinimumConcurrency() {
+        //given
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(
+                new FanOutProperties(4, 3, 32, true, Duration.ofSeconds(2), 0.5), new SimpleMeterRegistry());
+        WebClientResponseException forbidden = WebClientResponseException.create(
+                HttpStatus.FORBIDDEN.value(), "Forbidden", HttpHeaders.EMPTY, null, StandardCharsets.UTF_8);
+
+        //when
+        limiter.submit(Mono.error(forbidden)).onErrorResume(e -> Mono.empty()).block();
+
+        //then
+        assertEquals(3.0, limiter.getLimit());
+    }
+
+}
@@ -0,0 +1,143 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.config.BatchProperties;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
+import com.enjoythecode.githubapiconsumer.dto.UserRepositoriesDto;
+import com.enjoythecode.githubapiconsumer.exception.InvalidBatchRequestException;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.ratelimit.RequestPriority;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GithubBatchServiceTest {
+
+    @Mock
+    private GithubService githubService;
+
+    private GithubBatchService batchService;
+
+    @BeforeEach
+    public void setup() {
+        batchService = new GithubBatchService(githubService, new BatchProperties(3, 2),
+                new GithubLookupMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Test
+    public void shouldLookUpEachDistinctUserOnceAndShareOwners() {
+        //given
+        when(githubService.getUserNonForkRepositories("test-user")).thenReturn(Flux.just(
+                new RepositoryDto(new OwnerDto("test-user"), "repo1", false, List.of()),
+                new RepositoryDto(new OwnerDto("test-user"), "repo2", false, List.of())));
+        when(githubService.getUserNonForkRepositories("other-user")).thenReturn(Flux.empty());
+
+        //when
+        List<UserRepositoriesDto> results = batchService
+                .getUsersNonForkRepositories(List.of("test-user", "other-user", " Test-User "))
+                .sort(Comparator.comparing(UserRepositoriesDto::username))
+                .collectList()
+                .block();
+
+        //then
+        verify(githubService, times(1)).getUserNonForkRepositories("test-user");
+        assertEquals(2, results.size());
+        assertEquals("other-user", results.get(0).username());
+        assertTrue(results.get(0).repositories().isEmpty());
+        List<RepositoryDto> repositories = results.get(1).repositories();
+        assertEquals(2, repositories.size());
+        assertSame(repositories.get(0).ownerDto(), repositories.get(1).ownerDto());
+        assertNull(results.get(1).error());
+    }
+
+    @Test
+    public void shouldKeepPushedAtAndStatusWhenSharingOwners() {
+        //given
+        Instant pushedAt = Instant.parse("2024-05-01T10:15:30Z");
+        when(githubService.getUserNonForkRepositories("test-user")).thenReturn(Flux.just(
+                new RepositoryDto(new OwnerDto("test-user"), "repo1", false, List.of(), pushedAt,
+                        RepositoryStatus.COMPLETE),
+                new RepositoryDto(new OwnerDto("Test-User"), "repo2", false, List.of(), pushedAt,
+                        RepositoryStatus.STALE)));
+
+        //when
+        List<RepositoryDto> repositories = batchService.getUsersNonForkRepositories(List.of("test-user"))
+                .blockFirst()
+                .repositories();
+
+        //then
+        assertSame(repositories.get(0).ownerDto(), repositories.get(1).ownerDto());
+        assertEquals(pushedAt, repositories.get(1).pushedAt());
+        assertEquals(RepositoryStatus.STALE, repositories.get(1).status());
+    }
+
+    @Test
+    public void shouldReportPerUserErrorsInline() {
+        //given
+        when(githubService.getUserNonForkRepositories("test-user")).thenReturn(Flux.just(
+                new RepositoryDto(new OwnerDto("test-user"), "repo1", false, List.of())));
+        when(githubService.getUserNonForkRepositories("nonexistent-user"))
+                .thenReturn(Flux.error(new UserNotFoundException("User 'nonexistent-user' not found")));
+        when(githubService.getUserNonForkRepositories("broken-user"))
+                .thenReturn(Flux.error(new IllegalStateException("Connection reset")));
+
+        //when
+        List<UserRepositoriesDto> results = batchService
+                .getUsersNonForkRepositories(List.of("broken-user", "nonexistent-user", "test-user"))
+                .sort(Comparator.comparing(UserRepositoriesDto::username))
+                .collectList()
+                .block();
+
+        //then
+        assertEquals(3, results.size());
+        assertEquals(502, results.get(0).error().getStatus());
+        assertEquals(404, results.get(1).error().getStatus());
+        assertEquals("User 'nonexistent-user' not found", results.get(1).error().getMessage());
+        assertNull(results.get(1).repositories());
+        assertEquals(1, results.get(2).repositories().size());
+    }
+
+    @Test
+    public void shouldLookUpUsersAtBulkPriority() {
+        //given
+        when(githubService.getUserNonForkRepositories("test-user")).thenReturn(Flux.deferContextual(context ->
+                Flux.just(new RepositoryDto(new OwnerDto("test-user"), "repo", false, List.of()))
+                        .filter(repo -> context.getOrDefault(RequestPriority.class, RequestPriority.INTERACTIVE)
+                                == RequestPriority.BULK)));
+
+        //when
+        List<UserRepositoriesDto> results = batchService.getUsersNonForkRepositories(List.of("test-user"))
+                .collectList()
+                .block();
+
+        //then
+        assertEquals(1, results.get(0).repositories().size());
+    }
+
+    @Test
+    public void shouldRejectEmptyOrOversizedBatches() {
+        //when/then
+        assertThrows(InvalidBatchRequestException.class, () -> batchService.getUsersNonForkRepositories(List.of()));
+        assertThrows(InvalidBatchRequestException.class, () -> batchService.getUsersNonForkRepositories(
+                List.of("user-1", "user-2", "user-3", "user-4")));
+        assertThrows(InvalidBatchRequestException.class, () -> batchService.getUsersNonForkRepositories(
+                List.of("user-1", " ")));
+    }
+
+}
@@ -0,0 +1,352 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.cache.BranchSnapshotCache;
+import com.enjoythecode.githubapiconsumer.cache.MissingUserCache;
+import com.enjoythecode.githubapiconsumer.cache.RequestCoalescer;
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.FanOutProperties;
+import com.enjoythecode.githubapiconsumer.config.NegativeCacheProperties;
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.repository.GithubRepository;
+import com.enjoythecode.githubapiconsumer.resilience.Deadline;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.boot.test.context.SpringBootTest;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+class ReactiveGithubServiceTest {
+
+    @Mock
+    private GithubRepository githubRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private ReactiveGithubService githubService;
+
+    @BeforeEach
+    public void setup() {
+        FanOutProperties properties = new FanOutProperties(16, 4, 32, true, Duration.ofSeconds(2), 0.5);
+        meterRegistry = new SimpleMeterRegistry();
+        githubService = new ReactiveGithubService(githubRepository,
+                new AdaptiveConcurrencyLimiter(properties, meterRegistry), new RequestCoalescer(meterRegistry),
+                new GithubLookupMetrics(meterRegistry),
+                new BranchSnapshotCache(new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1)),
+                        meterRegistry),
+                new ResilienceProperties(true, Duration.ofSeconds(10), 2, Duration.ofMillis(100), Duration.ofSeconds(1),
+                        false, 20, 10, 0.5, Duration.ofSeconds(30)),
+                new MissingUserCache(new NegativeCacheProperties(true, Duration.ofMinutes(10), 1000, 0.01),
+                        meterRegistry));
+    }
+
+    @Test
+    public void shouldReturnNonForkRepositoriesWithBranches() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo1 = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+        RepositoryDto repo2 = new RepositoryDto(new OwnerDto(username), "repo2", true, List.of());
+        List<RepositoryDto> repositories = List.of(repo1, repo2);
+        BranchDto branch = new BranchDto("test-main", new CommitDto("test-sha-123"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(Flux.fromIterable(repositories));
+        when(githubRepository.getRepositoryBranches(username, repo1.name())).thenReturn(Flux.just(branch));
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositories(username).collectList().block();
+
+        //then
+        assertNotNull(result);
+        assertEquals(1, result.size());
+        RepositoryDto returnedRepo = result.get(0);
+        assertEquals(repo1.name(), returnedRepo.name());
+        assertEquals(repo1.ownerDto().login(), returnedRepo.ownerDto().login());
+        assertEquals(1, returnedRepo.branches().size());
+        BranchDto returnedBranch = returnedRepo.branches().get(0);
+        assertEquals(branch.name(), returnedBranch.name());
+        assertEquals(branch.commitDto().sha(), returnedBranch.commitDto().sha());
+        assertEquals(1, meterRegistry.get("github.lookup.fan-out").summary().count());
+        assertEquals(1, meterRegistry.get("github.lookup.fan-out").summary().totalAmount());
+    }
+
+    @Test
+    public void shouldSkipBranchFetchesWhenRepositoryIncludesBranches() {
+        //given
+        String username = "test-user";
+        BranchDto branch = new BranchDto("test-main", new CommitDto("test-sha-123"));
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of(branch));
+
+        when(githubRepository.includesBranches()).thenReturn(true);
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(Flux.just(repo));
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositories(username).collectList().block();
+
+        //then
+        assertEquals(List.of(repo), result);
+        verify(githubRepository, never()).getRepositoryBranches(username, repo.name());
+    }
+
+    @Test
+    public void shouldListNonForkRepositoriesWithoutFetchingBranches() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo1 = new RepositoryDto(new OwnerDto(username), "repo1", false, null);
+        RepositoryDto repo2 = new RepositoryDto(new OwnerDto(username), "repo2", true, null);
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(Flux.just(repo1, repo2));
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositoriesWithoutBranches(username)
+                .collectList()
+                .block();
+
+        //then
+        assertEquals(List.of(repo1), result);
+        verify(githubRepository, never()).getRepositoryBranches(username, repo1.name());
+        assertEquals(0, meterRegistry.get("github.lookup.fan-out").summary().totalAmount());
+    }
+
+    @Test
+    public void shouldDegradeRepositoriesWhoseBranchesFailInPartialMode() {
+        //given
+        String username = "test-user";
+        Instant pushedAt = Instant.parse("2024-07-01T12:00:00Z");
+        RepositoryDto healthy = new RepositoryDto(new OwnerDto(username), "repo1", false, null, pushedAt);
+        RepositoryDto broken = new RepositoryDto(new OwnerDto(username), "repo2", false, null, pushedAt);
+        RepositoryDto brokenAfterPush = new RepositoryDto(new OwnerDto(username), "repo2", false, null,
+                pushedAt.plusSeconds(60));
+        RepositoryDto neverFetched = new RepositoryDto(new OwnerDto(username), "repo3", false, null, pushedAt);
+        BranchDto branch = new BranchDto("main", new CommitDto("test-sha-1"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username))
+                .thenReturn(Flux.just(broken), Flux.just(healthy, brokenAfterPush, neverFetched));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenReturn(Flux.just(branch));
+        when(githubRepository.getRepositoryBranches(username, "repo2"))
+                .thenReturn(Flux.just(branch), Flux.error(new IllegalStateException("boom")));
+        when(githubRepository.getRepositoryBranches(username, "repo3"))
+                .thenReturn(Flux.error(new IllegalStateException("boom")));
+        githubService.getUserNonForkRepositories(username).collectList().block();
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositoriesWithPartialBranches(username)
+                .collectSortedList(Comparator.comparing(RepositoryDto::name))
+                .block();
+
+        //then
+        assertEquals(3, result.size());
+        assertEquals(RepositoryStatus.COMPLETE, result.get(0).status());
+        assertEquals(List.of(branch), result.get(0).branches());
+        assertEquals(RepositoryStatus.STALE, result.get(1).status());
+        assertEquals(List.of(branch), result.get(1).branches());
+        assertEquals(RepositoryStatus.FAILED, result.get(2).status());
+        assertEquals(List.of(), result.get(2).branches());
+        assertEquals(1, meterRegistry.get("github.lookup.degraded").tag("status", "STALE").counter().count());
+    }
+
+    @Test
+    public void shouldEmitRepositoriesWhoseBranchesMissTheDeadlineInPartialMode() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo1 = new RepositoryDto(new OwnerDto(username), "repo1", false, null);
+        RepositoryDto repo2 = new RepositoryDto(new OwnerDto(username), "repo2", false, null);
+        BranchDto branch = new BranchDto("main", new CommitDto("test-sha-1"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(Flux.just(repo1, repo2));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenReturn(Flux.just(branch));
+        when(githubRepository.getRepositoryBranches(username, "repo2")).thenReturn(Flux.never());
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositoriesWithPartialBranches(username)
+                .contextWrite(Deadline.within(Duration.ofMillis(200)))
+                .collectSortedList(Comparator.comparing(RepositoryDto::name))
+                .block(Duration.ofSeconds(5));
+
+        //then
+        assertEquals(2, result.size());
+        assertEquals(RepositoryStatus.COMPLETE, result.get(0).status());
+        assertEquals(RepositoryStatus.TIMED_OUT, result.get(1).status());
+        assertEquals(List.of(), result.get(1).branches());
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenOnlyForkRepositoriesFound() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo1 = new RepositoryDto(new OwnerDto(username), "repo1", true, List.of());
+        RepositoryDto repo2 = new RepositoryDto(new OwnerDto(username), "repo2", true, List.of());
+        List<RepositoryDto> repositories = List.of(repo1, repo2);
+        BranchDto branch1 = new BranchDto("test-main", new CommitDto("test-sha-123"));
+        BranchDto branch2 = new BranchDto("test-main", new CommitDto("test-sha-123"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(Flux.fromIterable(repositories));
+        when(githubRepository.getRepositoryBranches(username, repo1.name())).thenReturn(Flux.just(branch1));
+        when(githubRepository.getRepositoryBranches(username, repo2.name())).thenReturn(Flux.just(branch2));
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositories(username).collectList().block();
+
+        //then
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void shouldReturnEmptyListWhenNoRepositoriesFound() {
+        //given
+        String username = "test-user";
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(Flux.empty());
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositories(username).collectList().block();
+
+        //then
+        assertNotNull(result);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    public void shouldShareOneUpstreamFetchBetweenConcurrentCallersForSameUser() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+        Sinks.Many<RepositoryDto> upstream = Sinks.many().unicast().onBackpressureBuffer();
+        BranchDto branch = new BranchDto("test-main", new CommitDto("test-sha-123"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(upstream.asFlux());
+        when(githubRepository.getRepositoryBranches(username, repo.name())).thenReturn(Flux.just(branch));
+
+        //when
+        Mono<List<RepositoryDto>> first = githubService.getUserNonForkRepositories(username).collectList().cache();
+        Mono<List<RepositoryDto>> second = githubService.getUserNonForkRepositories("Test-User").collectList().cache();
+        first.subscribe();
+        second.subscribe();
+        upstream.tryEmitNext(repo);
+        upstream.tryEmitComplete();
+
+        //then
+        verify(githubRepository, times(1)).getUserRepositoriesByUsername(username);
+        verify(githubRepository, times(1)).getRepositoryBranches(username, repo.name());
+        assertEquals(1, first.block().size());
+        assertEquals(first.block(), second.block());
+    }
+
+    @Test
+    public void shouldCountJoinedBranchFetchesOnlyOnceAsFanOut() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+        Sinks.Many<BranchDto> branches = Sinks.many().unicast().onBackpressureBuffer();
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(Flux.just(repo));
+        when(githubRepository.getRepositoryBranches(username, repo.name())).thenReturn(branches.asFlux());
+
+        //when
+        Mono<List<RepositoryDto>> full = githubService.getUserNonForkRepositories(username).collectList().cache();
+        Mono<List<RepositoryDto>> partial = githubService.getUserNonForkRepositoriesWithPartialBranches(username)
+                .collectList()
+                .cache();
+        full.subscribe();
+        partial.subscribe();
+        branches.tryEmitNext(new BranchDto("test-main", new CommitDto("test-sha-123")));
+        branches.tryEmitComplete();
+
+        //then
+        assertEquals(1, full.block().get(0).branches().size());
+        assertEquals(1, partial.block().get(0).branches().size());
+        verify(githubRepository, times(1)).getRepositoryBranches(username, repo.name());
+        assertEquals(2, meterRegistry.get("github.lookup.fan-out").summary().count());
+        assertEquals(1, meterRegistry.get("github.lookup.fan-out").summary().totalAmount());
+    }
+
+    @Test
+    public void shouldHandleUserNotFoundException() {
+        //given
+        String username = "test-user";
+
+        when(githubRepository.getUserRepositoriesByUsername(username))
+                .thenReturn(Flux.error(new UserNotFoundException("User 'test-user' not found")));
+
+        //when/then
+        UserNotFoundException thrown = assertThrows(
+                UserNotFoundException.class,
+                () -> githubService.getUserNonForkRepositories(username).collectList().block());
+        assertEquals("User 'test-user' not found", thrown.getMessage());
+    }
+
+    @Test
+    public void shouldAnswerKnownMissingUserWithoutCallingGithub() {
+        //given
+        String username = "missing-user";
+
+        when(githubRepository.getUserRepositoriesByUsername(username))
+                .thenReturn(Flux.error(new UserNotFoundException("User 'missing-user' not found")));
+        assertThrows(UserNotFoundException.class,
+                () -> githubService.getUserNonForkRepositories(username).collectList().block());
+
+        //when
+        UserNotFoundException thrown = assertThrows(UserNotFoundException.class,
+                () -> githubService.getUserNonForkRepositoriesWithoutBranches("Missing-User").collectList().block());
+
+        //then
+        verify(githubRepository, times(1)).getUserRepositoriesByUsername(username);
+        assertEquals("User 'Missing-User' not found", thrown.getMessage());
+        assertEquals(0, thrown.getStackTrace().length);
+        assertEquals(1.0, meterRegistry.get("github.negative-cache.hits").counter().count());
+    }
+
+    @Test
+    public void shouldReuseBranchesOfRepositoriesNotPushedSinceLastLookup() {
+        //given
+        String username = "test-user";
+        Instant pushedAt = Instant.parse("2024-07-01T12:00:00Z");
+        RepositoryDto unchanged = new RepositoryDto(new OwnerDto(username), "repo1", false, null, pushedAt);
+        RepositoryDto pushed = new RepositoryDto(new OwnerDto(username), "repo2", false, null, pushedAt);
+        RepositoryDto pushedAgain = new RepositoryDto(new OwnerDto(username), "repo2", false, null,
+                pushedAt.plusSeconds(60));
+        BranchDto branch = new BranchDto("main", new CommitDto("test-sha-1"));
+        BranchDto newBranch = new BranchDto("main", new CommitDto("test-sha-2"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username))
+                .thenReturn(Flux.just(unchanged, pushed), Flux.just(unchanged, pushedAgain));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenReturn(Flux.just(branch));
+        when(githubRepository.getRepositoryBranches(username, "repo2"))
+                .thenReturn(Flux.just(branch), Flux.just(newBranch));
+
+        //when
+        githubService.getUserNonForkRepositories(username).collectList().block();
+        List<RepositoryDto> result = githubService.getUserNonForkRepositories(username)
+                .collectSortedList(Comparator.comparing(RepositoryDto::name))
+                .block();
+
+        //then
+        verify(githubRepository, times(1)).getRepositoryBranches(username, "repo1");
+        verify(githubRepository, times(2)).getRepositoryBranches(username, "repo2");
+        assertEquals(List.of(branch), result.get(0).branches());
+        assertEquals(List.of(newBranch), result.get(1).branches());
+        assertEquals(1, meterRegistry.get("github.cache.requests").tag("result", "unchanged").counter().count());
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.enjoythecode.githubapiconsumer.service;
+
+import com.enjoythecode.githubapiconsumer.cache.BranchSnapshotCache;
+import com.enjoythecode.githubapiconsumer.cache.MissingUserCache;
+import com.enjoythecode.githubapiconsumer.config.CacheProperties;
+import com.enjoythecode.githubapiconsumer.config.FanOutProperties;
+import com.enjoythecode.githubapiconsumer.config.NegativeCacheProperties;
+import com.enjoythecode.githubapiconsumer.config.ResilienceProperties;
+import com.enjoythecode.githubapiconsumer.dto.BranchDto;
+import com.enjoythecode.githubapiconsumer.dto.CommitDto;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryStatus;
+import com.enjoythecode.githubapiconsumer.exception.DeadlineExceededException;
+import com.enjoythecode.githubapiconsumer.exception.UserNotFoundException;
+import com.enjoythecode.githubapiconsumer.metrics.GithubLookupMetrics;
+import com.enjoythecode.githubapiconsumer.repository.BlockingGithubRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VirtualThreadGithubServiceTest {
+
+    private static final ResilienceProperties RESILIENCE = new ResilienceProperties(true, Duration.ofMillis(500), 2,
+            Duration.ofMillis(100), Duration.ofSeconds(1), false, 20, 10, 0.5, Duration.ofSeconds(30));
+
+    @Mock
+    private BlockingGithubRepository githubRepository;
+
+    private VirtualThreadGithubService githubService;
+
+    @BeforeEach
+    public void setup() {
+        githubService = new VirtualThreadGithubService(githubRepository,
+                new FanOutProperties(16, 4, 32, true, Duration.ofSeconds(2), 0.5),
+                new GithubLookupMetrics(new SimpleMeterRegistry()),
+                new BranchSnapshotCache(new CacheProperties(true, 1000, Duration.ofMinutes(1), Duration.ofHours(1)),
+                        new SimpleMeterRegistry()),
+                RESILIENCE, new MissingUserCache(new NegativeCacheProperties(true, Duration.ofMinutes(10), 1000, 0.01),
+                        new SimpleMeterRegistry()));
+    }
+
+    @AfterEach
+    public void tearDown() {
+        githubService.destroy();
+    }
+
+    @Test
+    public void shouldReturnNonForkRepositoriesWithBranchesInListingOrder() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo1 = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+        RepositoryDto repo2 = new RepositoryDto(new OwnerDto(username), "repo2", true, List.of());
+        RepositoryDto repo3 = new RepositoryDto(new OwnerDto(username), "repo3", false, List.of());
+        BranchDto branch1 = new BranchDto("main", new CommitDto("test-sha-1"));
+        BranchDto branch3 = new BranchDto("main", new CommitDto("test-sha-3"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(List.of(repo1, repo2, repo3));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenReturn(List.of(branch1));
+        when(githubRepository.getRepositoryBranches(username, "repo3")).thenReturn(List.of(branch3));
+
+        //when
+        List<RepositoryDto> result = githubService.getUserNonForkRepositories(username).collectList().block();
+
+        //then
+        assertNotNull(result);
+        assertEquals(2, result.size());
+        assertEquals("repo1", result.get(0).name());
+        assertEquals(List.of(branch1), result.get(0).branches());
+        assertEquals("repo3", result.get(1).name());
+        assertEquals(List.of(branch3), result.get(1).branches());
+    }
+
+    @Test
+    public void shouldPropagateBranchFetchFailure() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(List.of(repo));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenThrow(new IllegalStateException("boom"));
+
+        //when/then
+        IllegalStateException thrown = assertThrows(IllegalStateException.class,
+                () -> githubService.getUserNonForkRepositories(username).collectList().block());
+        assertEquals("boom", thrown.getMessage());
+    }
+
+    @Test
+    public void shouldFailAsSoonAsAnyBranchFetchFailsWithoutWaitingForEarlierOnes() {
+        //given
+        String username = "test-user";
+        RepositoryDto slowRepo = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+        RepositoryDto failingRepo = new RepositoryDto(new OwnerDto(username), "repo2", false, List.of());
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(List.of(slowRepo, failingRepo));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(30));
+            return List.of();
+        });
+        when(githubRepository.getRepositoryBranches(username, "repo2")).thenThrow(new IllegalStateException("boom"));
+
+        //when/then
+        IllegalStateException thrown = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> assertThrows(IllegalStateException.class,
+                        () -> githubService.getUserNonForkRepositories(username).collectList().block()));
+        assertEquals("boom", thrown.getMessage());
+    }
+
+    @Test
+    public void shouldInterruptBranchFetchesStillRunningAtDeadline() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(List.of(repo));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(30));
+            return List.of();
+        });
+
+        //when/then
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> assertThrows(DeadlineExceededException.class,
+                () -> githubService.getUserNonForkRepositories(username).collectList().block()));
+    }
+
+    @Test
+    public void shouldDegradeFailedAndSlowBranchFetchesInPartialMode() {
+        //given
+        String username = "test-user";
+        RepositoryDto repo1 = new RepositoryDto(new OwnerDto(username), "repo1", false, List.of());
+        RepositoryDto repo2 = new RepositoryDto(new OwnerDto(username), "repo2", false, List.of());
+        RepositoryDto repo3 = new RepositoryDto(new OwnerDto(username), "repo3", false, List.of());
+        BranchDto branch = new BranchDto("main", new CommitDto("test-sha-1"));
+
+        when(githubRepository.getUserRepositoriesByUsername(username)).thenReturn(List.of(repo1, repo2, repo3));
+        when(githubRepository.getRepositoryBranches(username, "repo1")).thenReturn(List.of(branch));
+        when(githubRepository.getRepositoryBranches(username, "repo2")).thenThrow(new IllegalStateException("boom"));
+        when(githubRepository.getRepositoryBranches(username, "repo3")).thenAnswer(invocation -> {
+            Thread.sleep(Duration.ofSeconds(30));
+            return List.of();
+        });
+
+        //when
+        List<RepositoryDto> result = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> githubService.getUserNonForkRepositoriesWithPartialBranches(username).collectList().block());
+
+        //then
+        assertEquals(3, result.size());
+        assertEquals(RepositoryStatus.COMPLETE, result.get(0).status());
+        assertEquals(List.of(branch), result.get(0).branches());
+        assertEquals(RepositoryStatus.FAILED, result.get(1).status());
+        assertEquals(RepositoryStatus.TIMED_OUT, result.get(2).status());
+    }
+
+    @Test
+    public void shouldHandleUserNotFoundException() {
+        //given
+        String username = "test-user";
+
+        when(githubRepository.getUserRepositoriesByUsername(username))
+                .thenThrow(new UserNotFoundException("User 'test-user' not found"));
+
+        //when/then
+        UserNotFoundException thrown = assertThrows(UserNotFoundException.class,
+                () -> githubService.getUserNonForkRepositories(username).collectList().block());
+        assertEquals("User 'test-user' not found", thrown.getMessage());
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.enjoythecode.githubapiconsumer.warmup;
+
+import com.enjoythecode.githubapiconsumer.config.RateLimitProperties;
+import com.enjoythecode.githubapiconsumer.config.WarmerProperties;
+import com.enjoythecode.githubapiconsumer.dto.OwnerDto;
+import com.enjoythecode.githubapiconsumer.dto.RepositoryDto;
+import com.enjoythecode.githubapiconsumer.ratelimit.GithubRateLimiter;
+import com.enjoythecode.githubapiconsumer.ratelimit.RequestPriority;
+import com.enjoythecode.githubapiconsumer.service.GithubService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CacheWarmerTest {
+
+    @Mock
+    private GithubService githubService;
+
+    @Mock
+    private GithubRateLimiter rateLimiter;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CacheWarmer cacheWarmer;
+
+    @AfterEach
+    public void tearDown() {
+        cacheWarmer.destroy();
+    }
+
+    @Test
+    public void shouldRefreshConfiguredAndHotUsersAsBulkCalls() {
+        //given
+        HotUserTracker tracker = new HotUserTracker(properties(List.of("Octocat"), 1.0));
+        tracker.record("torvalds");
+        tracker.record("OCTOCAT");
+        List<Object> priorities = new ArrayList<>();
+        when(rateLimiter.getRemaining()).thenReturn(5000.0);
+        when(githubService.getUserNonForkRepositories(anyString())).thenAnswer(invocation ->
+                Flux.deferContextual(context -> {
+                    priorities.add(context.get(RequestPriority.class));
+                    return Flux.just(new RepositoryDto(new OwnerDto("owner"), "repo", false, List.of()));
+                }));
+        cacheWarmer = warmer(properties(List.of("Octocat"), 1.0), tracker);
+
+        //when
+        cacheWarmer.warm().block();
+
+        //then
+        verify(githubService).getUserNonForkRepositories("Octocat");
+        verify(githubService).getUserNonForkRepositories("torvalds");
+        assertEquals(List.of(RequestPriority.BULK, RequestPriority.BULK), priorities);
+        assertEquals(2.0, meterRegistry.get("github.warmer.refreshes").tag("outcome", "success").counter().count());
+    }
+
+    @Test
+    public void shouldStopOnceBudgetShareIsUsed() {
+        //given
+        WarmerProperties properties = properties(List.of("user-1", "user-2", "user-3"), 0.1);
+        when(rateLimiter.getRemaining()).thenReturn(5000.0, 5000.0, 4600.0, 4400.0);
+        when(githubService.getUserNonForkRepositories(anyString())).thenReturn(Flux.empty());
+        cacheWarmer = warmer(properties, new HotUserTracker(properties));
+
+        //when
+        cacheWarmer.warm().block();
+
+        //then
+        verify(githubService).getUserNonForkRepositories("user-1");
+        verify(githubService).getUserNonForkRepositories("user-2");
+        verify(githubService, never()).getUserNonForkRepositories("user-3");
+        assertEquals(1.0, meterRegistry.get("github.warmer.refreshes").tag("outcome", "skipped").counter().count());
+    }
+
+    @Test
+    public void shouldProbeUnknownBudgetAndThenApplyBudgetShare() {
+        //given
+        WarmerProperties properties = properties(List.of("user-1", "user-2", "user-3", "user-4"), 0.1);
+        when(rateLimiter.getRemaining()).thenReturn(Double.NaN, Double.NaN, 5000.0, 4600.0, 4400.0);
+        when(githubService.getUserNonForkRepositories(anyString())).thenReturn(Flux.empty());
+        cacheWarmer = warmer(properties, new HotUserTracker(properties));
+
+        //when
+        cacheWarmer.warm().block();
+
+        //then
+        verify(githubService).getUserNonForkRepositories("user-1");
+        verify(githubService).getUserNonForkRepositories("user-2");
+        verify(githubService).getUserNonForkRepositories("user-3");
+        verify(githubService, never()).getUserNonForkRepositories("user-4");
+        assertEquals(1.0, meterRegistry.get("github.warmer.refreshes").tag("outcome", "skipped").counter().count());
+    }
+
+    @Test
+    public void shouldStopWhenProbeLeavesBudgetUnknown() {
+        //given
+        WarmerProperties properties = properties(List.of("user-1", "user-2", "user-3"), 1.0);
+        when(rateLimiter.getRemaining()).thenReturn(Double.NaN);
+        when(githubService.getUserNonForkRepositories(anyString())).thenReturn(Flux.empty());
+        cacheWarmer = warmer(properties, new HotUserTracker(properties));
+
+        //when
+        cacheWarmer.warm().block();
+
+        //then
+        verify(githubService).getUserNonForkRepositories("user-1");
+        verify(githubService, never()).getUserNonForkRepositories("user-2");
+        verify(githubService, never()).getUserNonForkRepositories("user-3");
+        assertEquals(2.0, meterRegistry.get("github.warmer.refreshes").tag("outcome", "skipped").counter().count());
+    }
+
+    @Test
+    public void shouldSkipRunBelowLowWatermark() {
+        //given
+        WarmerProperties properties = properties(List.of("octocat"), 1.0);
+        when(rateLimiter.getRemaining()).thenReturn(100.0);
+        cacheWarmer = warmer(properties, new HotUserTracker(properties));
+
+        //when
+        cacheWarmer.warm().block();
+
+        //then
+        verify(githubService, never()).getUserNonForkRepositories(anyString());
+    }
+
+    private CacheWarmer warmer(WarmerProperties properties, HotUserTracker tracker) {
+        return new CacheWarmer(properties, new RateLimitProperties(true, 500), tracker, githubService, rateLimiter,
+                meterRegistry);
+    }
+
+    private static WarmerProperties properties(List<String> usernames, double budgetShare) {
+        return new WarmerProperties(true, Duration.ofHours(1), usernames, 20, 200, budgetShare);
+    }
+
+}
@@ -0,0 +1,98 @@
+package com.enjoythecode.githubapiconsumer.warmup;
+
+import com.enjoythecode.githubapiconsumer.config.WarmerProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HotUserTrackerTest {
+
+    @Test
+    public void shouldKeepHeavyHittersWhenMoreUsersThanCountersAreRequested() {
+        //given
+        HotUserTracker tracker = tracker(true, 4);
+
+        //when
+        for (int i = 0; i < 100; i++) {
+            tracker.record("octocat");
+            tracker.record("user-" + i);
+            if (i % 2 == 0) {
+                tracker.record("Torvalds");
+            }
+        }
+
+        //then
+        assertEquals(List.of("octocat", "Torvalds"), tracker.top(2));
+    }
+
+    @Test
+    public void shouldReportLatestSpellingOfCaseInsensitiveUsername() {
+        //given
+        HotUserTracker tracker = tracker(true, 4);
+
+        //when
+        tracker.record("octocat");
+        tracker.record("OctoCat");
+
+        //then
+        assertEquals(List.of("OctoCat"), tracker.top(5));
+    }
+
+    @Test
+    public void shouldForgetUsersThatStopBeingRequested() {
+        //given
+        HotUserTracker tracker = tracker(true, 4);
+        tracker.record("octocat");
+        tracker.record("octocat");
+        tracker.record("torvalds");
+
+        //when
+        tracker.decay();
+
+        //then
+        assertEquals(List.of("octocat"), tracker.top(5));
+    }
+
+    @Test
+    public void shouldKeepCountsOrderedAcrossEvictionsAndDecay() {
+        //given
+        HotUserTracker tracker = tracker(true, 3);
+        for (int i = 0; i < 8; i++) {
+            tracker.record("octocat");
+        }
+        for (int i = 0; i < 4; i++) {
+            tracker.record("torvalds");
+        }
+        tracker.record("user-1");
+        tracker.record("user-2");
+
+        //when
+        tracker.decay();
+        tracker.record("gaearon");
+        tracker.record("gaearon");
+
+        //then
+        assertEquals(List.of("octocat", "gaearon", "torvalds"), tracker.top(5));
+    }
+
+    @Test
+    public void shouldNotTrackWhenWarmerIsDisabled() {
+        //given
+        HotUserTracker tracker = tracker(false, 4);
+
+        //when
+        tracker.record("octocat");
+
+        //then
+        assertTrue(tracker.top(5).isEmpty());
+    }
+
+    private static HotUserTracker tracker(boolean enabled, int trackedUsers) {
+        return new HotUserTracker(new WarmerProperties(enabled, Duration.ofSeconds(45), List.of(), 20, trackedUsers,
+                0.1));
+    }
+
+}